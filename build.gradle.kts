@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com"
@@ -28,15 +29,51 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     compileOnly("org.projectlombok:lombok")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     runtimeOnly("com.h2database:h2")
+    testImplementation("com.h2database:h2")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.13")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    implementation("org.hibernate.orm:hibernate-jcache")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    implementation("org.springframework.security:spring-security-crypto")
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// 대용량 데이터로 처리량, 메모리를 재는 테스트, ./gradlew benchmarkTest
+tasks.register<Test>("benchmarkTest") {
+    description = "Runs tests tagged with benchmark."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    maxHeapSize = "512m"
+    testLogging.showStandardStreams = true
+    // -PbenchmarkPosts=1000000 -> benchmark.posts
+    listOf("posts", "clients", "dbLatencyMillis", "poolSize", "seconds").forEach { name ->
+        providers.gradleProperty("benchmark" + name.replaceFirstChar { it.uppercase() }).orNull
+            ?.let { systemProperty("benchmark.$name", it) }
+    }
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+}
+
+jmh {
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+    providers.gradleProperty("jmhProfilers").orNull?.let { profilers = it.split(",") }
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
 }
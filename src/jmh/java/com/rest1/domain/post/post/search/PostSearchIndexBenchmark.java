@@ -0,0 +1,125 @@
+package com.rest1.domain.post.post.search;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 게시글 100만 건에서 역색인 검색과 like '%검색어%' 에 해당하는 전체 스캔 비교
+// ./gradlew jmh -PjmhIncludes=PostSearchIndexBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(time = 2)
+@Measurement(time = 2)
+public class PostSearchIndexBenchmark {
+
+    private static final String SYLLABLES = "가나다라마바사아자차카타파하게시판댓글회원검색성능캐시서버배포테스트점심주말스프링자바";
+
+    @Param("1000000")
+    private int postCount;
+
+    private PostSearchIndex index;
+    private String[] words;
+    private String[] titles;
+    private String[] contents;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        words = new String[20000];
+
+        // 한글 2~3음절 단어와 영문 단어를 절반씩
+        for (int i = 0; i < words.length; i++) {
+            if (i % 2 == 0) {
+                int length = 2 + random.nextInt(2);
+                StringBuilder sb = new StringBuilder();
+
+                for (int j = 0; j < length; j++) {
+                    sb.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+                }
+
+                words[i] = sb.toString();
+            } else {
+                words[i] = "word" + i;
+            }
+        }
+
+        index = new PostSearchIndex();
+        titles = new String[postCount];
+        contents = new String[postCount];
+
+        for (int i = 0; i < postCount; i++) {
+            titles[i] = sentence(random, 3) + " " + i;
+            contents[i] = sentence(random, 20);
+            index.put(i + 1, titles[i], contents[i]);
+        }
+    }
+
+    private String sentence(SplittableRandom random, int wordCount) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < wordCount; i++) {
+            // 실제 글처럼 앞쪽 단어일수록 훨씬 자주 나오도록 치우치게 고른다.
+            int index = (int) (words.length * Math.pow(random.nextDouble(), 4));
+            sb.append(words[index]).append(' ');
+        }
+
+        return sb.toString();
+    }
+
+    // 흔한 단어 1개 (문서의 약 절반에 등장)
+    @Benchmark
+    public List<Long> indexCommonWord() {
+        return index.search(words[1], 20);
+    }
+
+    // 드문 단어 2개
+    @Benchmark
+    public List<Long> indexRareWords() {
+        return index.search(words[15001] + " " + words[12001], 20);
+    }
+
+    // 흔한 단어 + 드문 단어, 가장 짧은 목록 기준으로 교집합을 구하므로 드문 단어 비용에 가깝다.
+    @Benchmark
+    public List<Long> indexCommonAndRareWord() {
+        return index.search(words[1] + " " + words[15001], 20);
+    }
+
+    // like '%드문단어1%' and like '%드문단어2%' order by id desc limit 20 와 같은 전체 스캔
+    @Benchmark
+    public int scanRareWords() {
+        String word1 = words[15001];
+        String word2 = words[12001];
+        int found = 0;
+
+        for (int i = postCount - 1; i >= 0 && found < 20; i--) {
+            if (matches(i, word1) && matches(i, word2)) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    // like '%흔한단어%' order by id desc limit 20, 앞쪽에서 금방 20건을 찾으므로 스캔이 유리한 경우
+    @Benchmark
+    public int scanCommonWord() {
+        String word = words[1];
+        int found = 0;
+
+        for (int i = postCount - 1; i >= 0 && found < 20; i--) {
+            if (matches(i, word)) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    private boolean matches(int i, String word) {
+        return titles[i].contains(word) || contents[i].contains(word);
+    }
+}
@@ -0,0 +1,97 @@
+package com.rest1.global.exception;
+
+import com.rest1.global.rsData.RsData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// 거절되는 요청(401, 404) 하나에서 예외를 던지고 응답 본문을 만들기까지의 시간, 할당량
+// legacy*: 스택을 채우는 예외 + 메시지 포맷 + 처리기에서 새 RsData
+// 나머지: 스택 없는 예외 + 미리 만들어 둔 RsData
+// 실제 요청은 필터 체인, 프록시 등으로 스택이 깊으므로 depth 만큼 호출을 쌓은 뒤 던진다.
+// ./gradlew jmh -PjmhIncludes=ErrorPathBenchmark -PjmhProfilers=gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorPathBenchmark {
+
+    private static final RsData<Void> MISSING_AUTHORIZATION = new RsData<>("401-1", "헤더에 인증 정보가 없습니다.");
+
+    @Param({"100"})
+    private int depth;
+
+    private final Optional<Object> empty = Optional.empty();
+
+    @Benchmark
+    public RsData<Void> legacyServiceException() {
+        try {
+            return call(depth, () -> {
+                throw new LegacyServiceException("401-1", "헤더에 인증 정보가 없습니다.");
+            });
+        } catch (LegacyServiceException e) {
+            return new RsData<>(e.resultCode, e.msg);
+        }
+    }
+
+    @Benchmark
+    public RsData<Void> serviceException() {
+        try {
+            return call(depth, () -> {
+                throw new ServiceException(MISSING_AUTHORIZATION);
+            });
+        } catch (ServiceException e) {
+            return e.getRsData();
+        }
+    }
+
+    @Benchmark
+    public RsData<Void> legacyNotFound() {
+        try {
+            return call(depth, () -> {
+                empty.get();
+                return null;
+            });
+        } catch (NoSuchElementException e) {
+            return new RsData<>("404-1", "존재하지 않는 데이터입니다.");
+        }
+    }
+
+    @Benchmark
+    public RsData<Void> notFound() {
+        try {
+            return call(depth, () -> {
+                empty.orElseThrow(NotFoundException::new);
+                return null;
+            });
+        } catch (ServiceException e) {
+            return e.getRsData();
+        }
+    }
+
+    private static RsData<Void> call(int depth, Handler handler) {
+        if (depth == 0) {
+            return handler.handle();
+        }
+
+        return call(depth - 1, handler);
+    }
+
+    private interface Handler {
+        RsData<Void> handle();
+    }
+
+    // 변경 전 ServiceException
+    private static class LegacyServiceException extends RuntimeException {
+
+        private final String resultCode;
+        private final String msg;
+
+        LegacyServiceException(String resultCode, String msg) {
+            super("%s : %s".formatted(resultCode, msg));
+            this.resultCode = resultCode;
+            this.msg = msg;
+        }
+    }
+}
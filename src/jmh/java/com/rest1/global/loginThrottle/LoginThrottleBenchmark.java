@@ -0,0 +1,45 @@
+package com.rest1.global.loginThrottle;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 로그인 성공 경로(check)에 추가되는 비용 측정
+// ./gradlew jmh -PjmhIncludes=LoginThrottleBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoginThrottleBenchmark {
+
+    private LoginThrottle loginThrottle;
+    private String[] usernames;
+
+    @Setup
+    public void setup() {
+        loginThrottle = new LoginThrottle(65536, 60, 5, 20);
+        usernames = new String[1024];
+
+        for (int i = 0; i < usernames.length; i++) {
+            usernames[i] = "user" + i;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void check() {
+        loginThrottle.check(usernames[ThreadLocalRandom.current().nextInt(usernames.length)], "127.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void checkContended() {
+        loginThrottle.check(usernames[ThreadLocalRandom.current().nextInt(usernames.length)], "127.0.0.1");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void onFailureContended() {
+        loginThrottle.onFailure(usernames[ThreadLocalRandom.current().nextInt(usernames.length)], "127.0.0.1");
+    }
+}
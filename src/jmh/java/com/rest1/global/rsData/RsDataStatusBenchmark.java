@@ -0,0 +1,122 @@
+package com.rest1.global.rsData;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+// 응답 상태 코드를 정하는 데 드는 요청당 비용
+// aspect: 예전 ResponseAspect 와 같은 포인트컷으로 프록시를 거치고 resultCode 를 split 해서 상태 코드를 구한다.
+// advice: 컨트롤러를 바로 부르고 RsDataStatusAdvice 가 만들 때 읽어둔 상태 코드를 쓴다.
+// ./gradlew jmh -PjmhIncludes=RsDataStatusBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RsDataStatusBenchmark {
+
+    private SampleController controller;
+    private SampleController proxiedController;
+    private RsDataStatusAdvice advice;
+    private MethodParameter returnType;
+    private MockHttpServletResponse servletResponse;
+    private ServletServerHttpResponse response;
+
+    @Setup
+    public void setup() throws Exception {
+        servletResponse = new MockHttpServletResponse();
+        response = new ServletServerHttpResponse(servletResponse);
+
+        controller = new SampleController();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(controller);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LegacyResponseAspect(servletResponse));
+        proxiedController = proxyFactory.getProxy();
+
+        advice = new RsDataStatusAdvice();
+        returnType = new MethodParameter(SampleController.class.getMethod("getItem"), -1);
+    }
+
+    @Benchmark
+    public Object aspect() {
+        return proxiedController.getItem();
+    }
+
+    @Benchmark
+    public Object advice() {
+        RsData<String> rsData = controller.getItem();
+
+        if (advice.supports(returnType, MappingJackson2HttpMessageConverter.class)) {
+            return advice.beforeBodyWrite(
+                    rsData,
+                    returnType,
+                    MediaType.APPLICATION_JSON,
+                    MappingJackson2HttpMessageConverter.class,
+                    null,
+                    response
+            );
+        }
+
+        return rsData;
+    }
+
+    @RestController
+    public static class SampleController {
+
+        @GetMapping
+        public RsData<String> getItem() {
+            return new RsData<>("201-1", "생성되었습니다.", "data");
+        }
+    }
+
+    @Aspect
+    public static class LegacyResponseAspect {
+
+        private final HttpServletResponse response;
+
+        public LegacyResponseAspect(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Around("""
+                (
+                    within
+                    (
+                        @org.springframework.web.bind.annotation.RestController *
+                    )
+                    &&
+                    (
+                        @annotation(org.springframework.web.bind.annotation.GetMapping)
+                        ||
+                        @annotation(org.springframework.web.bind.annotation.PostMapping)
+                        ||
+                        @annotation(org.springframework.web.bind.annotation.PutMapping)
+                        ||
+                        @annotation(org.springframework.web.bind.annotation.DeleteMapping)
+                    )
+                )
+                ||
+                @annotation(org.springframework.web.bind.annotation.ResponseBody)
+                """)
+        public Object responseAspect(ProceedingJoinPoint joinPoint) throws Throwable {
+            Object rst = joinPoint.proceed();
+
+            if (rst instanceof RsData<?> rsData) {
+                response.setStatus(Integer.parseInt(rsData.getResultCode().split("-")[0]));
+            }
+
+            return rst;
+        }
+    }
+}
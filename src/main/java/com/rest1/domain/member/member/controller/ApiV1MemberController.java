@@ -2,8 +2,10 @@ package com.rest1.domain.member.member.controller;
 
 import com.rest1.domain.member.member.dto.MemberDto;
 import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.service.AuthTokenService;
 import com.rest1.domain.member.member.service.MemberService;
 import com.rest1.global.exception.ServiceException;
+import com.rest1.global.loginThrottle.LoginThrottle;
 import com.rest1.global.rq.Rq;
 import com.rest1.global.rsData.RsData;
 import jakarta.validation.Valid;
@@ -18,6 +20,8 @@ import org.springframework.web.bind.annotation.*;
 public class ApiV1MemberController {
 
     private final MemberService memberService;
+    private final AuthTokenService authTokenService;
+    private final LoginThrottle loginThrottle;
     private final Rq rq;
 
     record JoinReqBody(
@@ -69,7 +73,8 @@ public class ApiV1MemberController {
 
     record LoginResBody(
             MemberDto memberDto,
-            String apiKey
+            String apiKey,
+            String accessToken
     ) {
     }
 
@@ -78,22 +83,35 @@ public class ApiV1MemberController {
             @RequestBody @Valid LoginReqBody reqBody
     ) {
 
+        String clientAddress = rq.getClientAddress();
+
+        // 실패가 누적된 아이디/주소는 DB 를 조회하기 전에 거절
+        loginThrottle.check(reqBody.username, clientAddress);
+
         Member member = memberService.findByUsername(reqBody.username).orElseThrow(
-                () -> new ServiceException("401-1", "존재하지 않는 아이디입니다.")
+                () -> {
+                    loginThrottle.onFailure(reqBody.username, clientAddress);
+                    return new ServiceException("401-1", "존재하지 않는 아이디입니다.");
+                }
         );
 
-        if (!member.getPassword().equals(reqBody.password)) {
+        if (!memberService.checkPassword(member, reqBody.password)) {
+            loginThrottle.onFailure(reqBody.username, clientAddress);
             throw new ServiceException("401-2", "비밀번호가 일치하지 않습니다.");
         }
 
+        String accessToken = authTokenService.genAccessToken(member);
+
         rq.addCookie("apiKey", member.getApiKey());
+        rq.addCookie("accessToken", accessToken);
 
         return new RsData(
                 "200-1",
                 "%s님 환영합니다.".formatted(reqBody.username),
                 new LoginResBody(
                         new MemberDto(member),
-                        member.getApiKey()
+                        member.getApiKey(),
+                        accessToken
                 )
         );
     }
@@ -107,6 +125,7 @@ public class ApiV1MemberController {
     @GetMapping("/me")
     public RsData<MemberDto> me() {
 
+        // 토큰, API 키(ActorCache) 어느 쪽으로 인증해도 actor 에 응답에 필요한 값이 다 있으므로 다시 조회하지 않는다.
         Member actor = rq.getActor();
 
         return new RsData(
@@ -1,16 +1,25 @@
 package com.rest1.domain.member.member.entity;
 
+import com.rest1.global.apiKeyBloomFilter.ApiKeys;
 import com.rest1.global.jpa.entity.BaseEntity;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
-import java.util.UUID;
+import java.time.LocalDateTime;
 
 @NoArgsConstructor
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Member extends BaseEntity {
 
     @Column(unique = true)
@@ -19,16 +28,49 @@ public class Member extends BaseEntity {
     private String nickname;
     @Column(unique = true)
     private String apiKey;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @ColumnDefault("'USER'")
+    private MemberRole role = MemberRole.USER;
 
     public Member(String username, String password, String nickname) {
         this.username = username;
         this.password = password;
         this.nickname = nickname;
-        this.apiKey = UUID.randomUUID().toString();
+        this.apiKey = ApiKeys.generate();
+    }
+
+    public Member(Long id, LocalDateTime createDate, LocalDateTime modifyDate, String username, String nickname, MemberRole role) {
+        setId(id);
+        setCreateDate(createDate);
+        setModifyDate(modifyDate);
+        this.username = username;
+        this.nickname = nickname;
+        this.role = role;
+    }
+
+    public void modify(String nickname) {
+        this.nickname = nickname;
+    }
+
+    public void modifyPassword(String password) {
+        this.password = password;
+    }
+
+    public void modifyRole(MemberRole role) {
+        this.role = role;
+    }
+
+    public void modifyApiKey() {
+        this.apiKey = ApiKeys.generate();
     }
 
     public String getName() {
         return nickname;
     }
 
+    public boolean isAdmin() {
+        return role == MemberRole.ADMIN;
+    }
+
 }
@@ -0,0 +1,6 @@
+package com.rest1.domain.member.member.entity;
+
+public enum MemberRole {
+    USER,
+    ADMIN
+}
@@ -1,13 +1,26 @@
 package com.rest1.domain.member.member.repository;
 
 import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.entity.MemberRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
 
     Optional<Member> findByUsername(String username);
 
     Optional<Member> findByApiKey(String apiKey);
+
+    boolean existsByRole(MemberRole role);
+
+    // 블룸 필터 재구성용, 전체 키를 목록 하나로 올리지 않고 fetch size 만큼씩 읽는다. (트랜잭션 안에서 쓰고 닫아야 한다.)
+    @Query("select m.apiKey from Member m")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllApiKeys();
 }
@@ -0,0 +1,19 @@
+package com.rest1.domain.member.member.scheduler;
+
+import com.rest1.domain.member.member.service.MemberService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MemberScheduler {
+
+    private final MemberService memberService;
+
+    // 지워지거나 바뀐 키를 빼고, 다른 서버에서 발급한 키를 넣는다.
+    @Scheduled(cron = "${custom.apiKeyBloomFilter.rebuildCron}")
+    public void rebuildApiKeyBloomFilter() {
+        memberService.rebuildApiKeyBloomFilter();
+    }
+}
@@ -0,0 +1,139 @@
+package com.rest1.domain.member.member.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.entity.MemberRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// HS256 으로 서명한 JWT 형식의 액세스 토큰, 검증은 DB 조회 없이 CPU 만으로 끝난다.
+@Service
+public class AuthTokenService {
+
+    private static final int MIN_SECRET_KEY_BYTES = 32;
+
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final Mac macPrototype;
+    private final long expirationSeconds;
+
+    public AuthTokenService(
+            ObjectMapper objectMapper,
+            @Value("${custom.jwt.secretKey}") String secretKey,
+            @Value("${custom.accessToken.expirationSeconds}") long expirationSeconds
+    ) throws GeneralSecurityException {
+        byte[] secretKeyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
+
+        // 키가 없거나 짧으면 토큰을 위조할 수 있으므로 기동하지 않는다.
+        if (secretKeyBytes.length < MIN_SECRET_KEY_BYTES) {
+            throw new IllegalStateException(
+                    "custom.jwt.secretKey(JWT_SECRET_KEY)는 %d바이트 이상이어야 합니다.".formatted(MIN_SECRET_KEY_BYTES)
+            );
+        }
+
+        this.objectMapper = objectMapper;
+        this.macPrototype = Mac.getInstance("HmacSHA256");
+        this.macPrototype.init(new SecretKeySpec(secretKeyBytes, "HmacSHA256"));
+        this.expirationSeconds = expirationSeconds;
+    }
+
+    public String genAccessToken(Member member) {
+        long now = Instant.now().getEpochSecond();
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", member.getId());
+        payload.put("username", member.getUsername());
+        payload.put("name", member.getName());
+        payload.put("role", member.getRole().name());
+        // 내 정보 응답을 DB 조회 없이 만들 수 있도록 넣는다.
+        payload.put("createDate", Objects.toString(member.getCreateDate(), null));
+        payload.put("modifyDate", Objects.toString(member.getModifyDate(), null));
+        payload.put("iat", now);
+        payload.put("exp", now + expirationSeconds);
+
+        try {
+            String body = HEADER + "." + base64Url(objectMapper.writeValueAsBytes(payload));
+
+            return body + "." + base64Url(sign(body));
+        } catch (Exception e) {
+            throw new IllegalStateException("액세스 토큰 생성에 실패했습니다.", e);
+        }
+    }
+
+    // 서명이 맞지 않거나 만료된 토큰이면 null
+    public Map<String, Object> payload(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            return null;
+        }
+
+        int lastDot = accessToken.lastIndexOf('.');
+
+        if (lastDot < 0 || !accessToken.startsWith(HEADER + ".")) {
+            return null;
+        }
+
+        try {
+            String body = accessToken.substring(0, lastDot);
+            byte[] signature = Base64.getUrlDecoder().decode(accessToken.substring(lastDot + 1));
+
+            if (!MessageDigest.isEqual(sign(body), signature)) {
+                return null;
+            }
+
+            Map<String, Object> payload = objectMapper.readValue(
+                    Base64.getUrlDecoder().decode(body.substring(HEADER.length() + 1)),
+                    new TypeReference<>() {
+                    }
+            );
+
+            if (!(payload.get("exp") instanceof Number exp) || exp.longValue() < Instant.now().getEpochSecond()) {
+                return null;
+            }
+
+            return payload;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // 권한은 서명된 토큰에 담긴 값을 쓰므로, 권한을 바꾸면 이미 발급된 토큰이 만료될 때까지는 예전 권한이 유지된다.
+    public Member toActor(Map<String, Object> payload) {
+        return new Member(
+                ((Number) payload.get("id")).longValue(),
+                parseDate(payload.get("createDate")),
+                parseDate(payload.get("modifyDate")),
+                (String) payload.get("username"),
+                (String) payload.get("name"),
+                MemberRole.ADMIN.name().equals(payload.get("role")) ? MemberRole.ADMIN : MemberRole.USER
+        );
+    }
+
+    // 날짜가 없는 예전 토큰이면 null
+    private static LocalDateTime parseDate(Object value) {
+        return value instanceof String date ? LocalDateTime.parse(date) : null;
+    }
+
+    private byte[] sign(String body) throws CloneNotSupportedException {
+        Mac mac = (Mac) macPrototype.clone();
+
+        return mac.doFinal(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
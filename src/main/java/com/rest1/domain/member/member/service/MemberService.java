@@ -1,9 +1,18 @@
 package com.rest1.domain.member.member.service;
 
 import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.entity.MemberRole;
 import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.global.actorCache.ActorCache;
+import com.rest1.global.apiKeyBloomFilter.ApiKeyBloomFilter;
+import com.rest1.global.exception.ServiceException;
+import com.rest1.global.passwordHasher.PasswordHasher;
+import com.rest1.global.responseCache.ResponseCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -12,16 +21,59 @@ import java.util.Optional;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final ActorCache actorCache;
+    private final PasswordHasher passwordHasher;
+    private final ApiKeyBloomFilter apiKeyBloomFilter;
+    private final ResponseCache responseCache;
+
+    // 복제 지연으로 방금 발급된 키가 빠지지 않도록 주 DB 에서 읽는다. (readOnly 가 아닌 트랜잭션)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildApiKeyBloomFilter() {
+        if (!apiKeyBloomFilter.isEnabled()) {
+            return;
+        }
+
+        apiKeyBloomFilter.rebuild(memberRepository::streamAllApiKeys);
+    }
 
     public long count() {
         return memberRepository.count();
     }
 
     public Member join(String username, String password, String nickname) {
-        Member member = new Member(username, password, nickname);
+        memberRepository.findByUsername(username).ifPresent(member -> {
+            throw new ServiceException("409-1", "이미 사용중인 아이디입니다.");
+        });
+
+        Member member = new Member(username, passwordHasher.encode(password), nickname);
+        apiKeyBloomFilter.put(member.getApiKey());
+
         return memberRepository.save(member);
     }
 
+    public boolean checkPassword(Member member, String rawPassword) {
+        if (!passwordHasher.matches(rawPassword, member.getPassword())) {
+            return false;
+        }
+
+        // 평문이거나 강도가 낮은 해시로 저장된 비밀번호는 로그인 성공 시 다시 해시해서 저장
+        if (passwordHasher.needsRehash(member.getPassword())) {
+            member.modifyPassword(passwordHasher.encode(rawPassword));
+            memberRepository.save(member);
+        }
+
+        return true;
+    }
+
+    public boolean existsByRole(MemberRole role) {
+        return memberRepository.existsByRole(role);
+    }
+
+    public Optional<Member> findById(Long id) {
+        return memberRepository.findById(id);
+    }
+
     public Optional<Member> findByUsername(String username) {
         return memberRepository.findByUsername(username);
     }
@@ -29,4 +81,32 @@ public class MemberService {
     public Optional<Member> findByApiKey(String apiKey) {
         return memberRepository.findByApiKey(apiKey);
     }
+
+    public Optional<Member> findActorByApiKey(String apiKey) {
+        // 한 번도 발급된 적 없는 키는 DB 조회 없이 거절, 마지막 재구성 이후에 발급된 키는 필터를 통과해서 DB 로 확인한다.
+        if (!apiKeyBloomFilter.mightContain(apiKey)) {
+            return Optional.empty();
+        }
+
+        return actorCache.get(apiKey, this::findByApiKey);
+    }
+
+    public void modify(Member member, String nickname) {
+        member.modify(nickname);
+        actorCache.invalidate(member.getApiKey());
+        // 캐시된 글/댓글 응답에 작성자 이름이 들어 있는데, 어느 글인지 알 수 없으므로 전부 비운다.
+        responseCache.invalidateAll();
+    }
+
+    public void modifyRole(Member member, MemberRole role) {
+        member.modifyRole(role);
+        actorCache.invalidate(member.getApiKey());
+    }
+
+    public void modifyApiKey(Member member) {
+        String oldApiKey = member.getApiKey();
+        member.modifyApiKey();
+        apiKeyBloomFilter.put(member.getApiKey());
+        actorCache.invalidate(oldApiKey);
+    }
 }
@@ -3,19 +3,29 @@ package com.rest1.domain.post.comment.controller;
 import com.rest1.domain.member.member.entity.Member;
 import com.rest1.domain.member.member.service.MemberService;
 import com.rest1.domain.post.comment.dto.CommentDto;
+import com.rest1.domain.post.comment.dto.CommentVersionDto;
 import com.rest1.domain.post.comment.entity.Comment;
 import com.rest1.domain.post.post.entity.Post;
 import com.rest1.domain.post.post.service.PostService;
+import com.rest1.global.etag.ETag;
+import com.rest1.global.exception.NotFoundException;
+import com.rest1.global.responseCache.ResponseCache;
 import com.rest1.global.rq.Rq;
 import com.rest1.global.rsData.RsData;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -27,17 +37,88 @@ public class ApiV1CommentController {
 
     private final PostService postService;
     private final MemberService memberService;
+    private final ResponseCache responseCache;
     private final Rq rq;
 
+    record CommentItemsResBody(
+            List<CommentDto> items,
+            Long nextCursor
+    ) {
+    }
+
     @GetMapping(value = "/{postId}/comments")
+    @Transactional(readOnly = true)
     @Operation(summary = "다건 조회")
-    public List<CommentDto> getItems(
-            @PathVariable Long postId
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = CommentItemsResBody.class)))
+    public ResponseEntity<byte[]> getItems(
+            @PathVariable Long postId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
     ) {
-        Post post = postService.findById(postId).get();
-        return post.getComments().reversed().stream()
-                .map(CommentDto::new)
-                .toList();
+        int pageSize = Math.clamp(size, 1, 100);
+        String path = "comments?cursor=%s&size=%d".formatted(cursor, pageSize);
+
+        ResponseCache.Entry entry = responseCache.getIfPresent(postId, path);
+
+        if (entry == null) {
+            // 캐시에 없고 조건부 요청이면 본문을 만들기 전에 버전 컬럼만 조회해서 바뀌지 않았으면 304
+            // 댓글이 하나도 없으면 글 존재 여부를 아래에서 확인해야 하므로 건너뛴다.
+            // 목록은 댓글이 지워져도 Last-Modified 가 앞으로 가지 않으므로 ETag 로만 판단한다.
+            if (ETag.hasIfNoneMatch(webRequest)) {
+                List<CommentVersionDto> versions = postService.findCommentVersionPage(postId, cursor, pageSize + 1);
+                boolean hasNext = versions.size() > pageSize;
+                List<CommentVersionDto> items = hasNext ? versions.subList(0, pageSize) : versions;
+
+                ETag eTag = eTag(items, hasNext ? items.getLast().id() : null);
+
+                if (!versions.isEmpty() && eTag.checkNoneMatch(webRequest)) {
+                    return null;
+                }
+            }
+
+            entry = responseCache.get(
+                    postId,
+                    path,
+                    () -> findItems(postId, cursor, pageSize),
+                    resBody -> eTag(
+                            resBody.items().stream().map(CommentVersionDto::new).toList(),
+                            resBody.nextCursor()
+                    )
+            );
+        }
+
+        if (webRequest.checkNotModified(entry.eTag())) {
+            return null;
+        }
+
+        return entry.toResponseEntity();
+    }
+
+    private CommentItemsResBody findItems(Long postId, Long cursor, int pageSize) {
+        // 다음 페이지가 있는지 알기 위해 한 개 더 조회
+        List<CommentDto> commentDtos = postService.findCommentDtoPage(postId, cursor, pageSize + 1);
+
+        // 댓글이 없을 때만 글이 존재하는지 확인
+        if (commentDtos.isEmpty() && !postService.existsById(postId)) {
+            throw new NotFoundException();
+        }
+
+        boolean hasNext = commentDtos.size() > pageSize;
+        List<CommentDto> items = hasNext ? commentDtos.subList(0, pageSize) : commentDtos;
+
+        return new CommentItemsResBody(
+                items,
+                hasNext ? items.getLast().id() : null
+        );
+    }
+
+    // 응답에 담기는 댓글과 다음 커서만으로 만든다, 버전 조회와 본문 조회 어느 쪽에서 만들어도 같은 값이 나온다.
+    private static ETag eTag(List<CommentVersionDto> items, Long nextCursor) {
+        ETag eTag = new ETag();
+        items.forEach(version -> version.addTo(eTag));
+
+        return eTag.add(nextCursor == null ? 0L : nextCursor);
     }
 
     @GetMapping(value = "/{postId}/comments/{commentId}")
@@ -47,9 +128,7 @@ public class ApiV1CommentController {
             @PathVariable Long postId,
             @PathVariable Long commentId
     ) {
-        Post post = postService.findById(postId).get();
-        Comment comment = post.findCommentById(commentId).get();
-        return new CommentDto(comment);
+        return postService.findCommentDto(postId, commentId).orElseThrow(NotFoundException::new);
     }
 
     @DeleteMapping("/{postId}/comments/{commentId}")
@@ -61,10 +140,7 @@ public class ApiV1CommentController {
     ) {
 
         Member actor = rq.getActor();
-        Post post = postService.findById(postId).get();
-        Comment comment = post.findCommentById(commentId).get();
-        comment.checkActorDelete(actor);
-        postService.deleteComment(post, commentId);
+        postService.deleteComment(actor, postId, commentId);
 
         return new RsData<>(
                 "200-1",
@@ -93,7 +169,7 @@ public class ApiV1CommentController {
     ) {
 
         Member actor = rq.getActor();
-        Post post = postService.findById(postId).get();
+        Post post = postService.findById(postId).orElseThrow(NotFoundException::new);
         Comment comment = postService.writeComment(actor, post, reqBody.content);
 
         postService.flush();
@@ -108,6 +184,43 @@ public class ApiV1CommentController {
     }
 
 
+    record CommentBulkWriteReqBody(
+            @NotEmpty
+            @Size(max = 5000)
+            List<@Valid CommentWriteReqBody> items
+    ) {
+    }
+
+    record CommentBulkWriteResBody(
+            List<Long> ids
+    ) {
+    }
+
+    @PostMapping("/{postId}/comments/bulk")
+    @Transactional
+    @Operation(summary = "댓글 여러 개 작성")
+    public RsData<CommentBulkWriteResBody> createItems(
+            @PathVariable Long postId,
+            @RequestBody @Valid CommentBulkWriteReqBody reqBody
+    ) {
+
+        Member actor = rq.getActor();
+        List<Long> ids = postService.writeComments(
+                actor,
+                postId,
+                reqBody.items.stream()
+                        .map(CommentWriteReqBody::content)
+                        .toList()
+        );
+
+        return new RsData<>(
+                "201-1",
+                "%d개의 댓글이 생성되었습니다.".formatted(ids.size()),
+                new CommentBulkWriteResBody(ids)
+        );
+    }
+
+
     record CommentModifyReqBody(
             @NotBlank
             @Size(min = 2, max = 100)
@@ -125,10 +238,7 @@ public class ApiV1CommentController {
     ) {
 
         Member actor = rq.getActor();
-        Post post = postService.findById(postId).get();
-        Comment comment = post.findCommentById(commentId).get();
-        comment.checkActorModify(actor);
-        postService.modifyComment(post, commentId, reqBody.content);
+        postService.modifyComment(actor, postId, commentId, reqBody.content);
 
         return new RsData<>(
                 "200-1",
@@ -0,0 +1,26 @@
+package com.rest1.domain.post.comment.dto;
+
+import com.rest1.global.etag.ETag;
+
+import java.time.LocalDateTime;
+
+// CommentDto 가 바뀌었는지 판단하는 데 필요한 컬럼만
+public record CommentVersionDto(
+        Long id,
+        LocalDateTime modifyDate,
+        String authorName
+) {
+    public CommentVersionDto(CommentDto commentDto) {
+        this(
+                commentDto.id(),
+                commentDto.modifyDate(),
+                commentDto.authorName()
+        );
+    }
+
+    public void addTo(ETag eTag) {
+        eTag.add(id)
+                .add(modifyDate)
+                .add(authorName);
+    }
+}
@@ -3,21 +3,28 @@ package com.rest1.domain.post.comment.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.rest1.domain.member.member.entity.Member;
 import com.rest1.domain.post.post.entity.Post;
-import com.rest1.global.exception.ServiceException;
 import com.rest1.global.jpa.entity.BaseEntity;
-import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_comment_post_id_id", columnList = "post_id, id"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 public class Comment extends BaseEntity {
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     private String content;
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
@@ -34,16 +41,4 @@ public class Comment extends BaseEntity {
     public void update(String content) {
         this.content = content;
     }
-
-    public void checkActorModify(Member actor) {
-        if(!this.author.getId().equals(actor.getId())) {
-            throw new ServiceException("403-1", "댓글 수정 권한이 없습니다.");
-        }
-    }
-
-    public void checkActorDelete(Member actor) {
-        if(!this.author.getId().equals(actor.getId())) {
-            throw new ServiceException("403-2", "댓글 삭제 권한이 없습니다.");
-        }
-    }
 }
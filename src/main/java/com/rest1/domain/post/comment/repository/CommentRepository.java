@@ -0,0 +1,96 @@
+package com.rest1.domain.post.comment.repository;
+
+import com.rest1.domain.post.comment.dto.CommentDto;
+import com.rest1.domain.post.comment.dto.CommentVersionDto;
+import com.rest1.domain.post.comment.entity.Comment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    @Query("""
+            select new com.rest1.domain.post.comment.dto.CommentDto(c.id, c.createDate, c.modifyDate, c.content, a.id, a.nickname, c.post.id)
+            from Comment c
+            join c.author a
+            where c.post.id = :postId
+            order by c.id desc
+            """)
+    List<CommentDto> findDtosByPostId(Long postId, Limit limit);
+
+    @Query("""
+            select new com.rest1.domain.post.comment.dto.CommentDto(c.id, c.createDate, c.modifyDate, c.content, a.id, a.nickname, c.post.id)
+            from Comment c
+            join c.author a
+            where c.post.id = :postId
+            and c.id < :cursor
+            order by c.id desc
+            """)
+    List<CommentDto> findDtosByPostIdAndIdLessThan(Long postId, Long cursor, Limit limit);
+
+    @Query("""
+            select new com.rest1.domain.post.comment.dto.CommentVersionDto(c.id, c.modifyDate, a.nickname)
+            from Comment c
+            join c.author a
+            where c.post.id = :postId
+            order by c.id desc
+            """)
+    List<CommentVersionDto> findVersionsByPostId(Long postId, Limit limit);
+
+    @Query("""
+            select new com.rest1.domain.post.comment.dto.CommentVersionDto(c.id, c.modifyDate, a.nickname)
+            from Comment c
+            join c.author a
+            where c.post.id = :postId
+            and c.id < :cursor
+            order by c.id desc
+            """)
+    List<CommentVersionDto> findVersionsByPostIdAndIdLessThan(Long postId, Long cursor, Limit limit);
+
+    @Query("""
+            select new com.rest1.domain.post.comment.dto.CommentDto(c.id, c.createDate, c.modifyDate, c.content, a.id, a.nickname, c.post.id)
+            from Comment c
+            join c.author a
+            where c.post.id = :postId
+            and c.id = :id
+            """)
+    Optional<CommentDto> findDtoByPostIdAndId(Long postId, Long id);
+
+    @Query("select c.author.id from Comment c where c.post.id = :postId and c.id = :id")
+    Optional<Long> findAuthorIdByPostIdAndId(Long postId, Long id);
+
+    // 작성자 조건까지 한 쿼리에 담아서, 0 이 반환되면 없거나 권한이 없는 경우
+    // versioned: 엔티티로 읽어 둔 댓글을 수정하려는 쪽이 충돌을 알 수 있도록 버전도 올린다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update versioned Comment c
+            set c.content = :content, c.modifyDate = :modifyDate
+            where c.post.id = :postId
+            and c.id = :id
+            and c.author.id = :authorId
+            """)
+    int updateContent(Long postId, Long id, Long authorId, String content, LocalDateTime modifyDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            delete from Comment c
+            where c.post.id = :postId
+            and c.id = :id
+            and c.author.id = :authorId
+            """)
+    int deleteByPostIdAndIdAndAuthorId(Long postId, Long id, Long authorId);
+
+    // 대기 중인 변경(새 댓글 등)이 먼저 반영되어야 함께 지워진다.
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            delete from Comment c
+            where c.post.id in :postIds
+            """)
+    int deleteByPostIdIn(Collection<Long> postIds);
+}
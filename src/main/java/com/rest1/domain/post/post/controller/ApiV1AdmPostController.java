@@ -0,0 +1,59 @@
+package com.rest1.domain.post.post.controller;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.post.post.service.PostService;
+import com.rest1.global.exception.ServiceException;
+import com.rest1.global.rq.Rq;
+import com.rest1.global.rsData.RsData;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/adm/posts")
+@Tag(name = "ApiV1AdmPostController", description = "관리자용 글 API")
+public class ApiV1AdmPostController {
+
+    private final PostService postService;
+    private final Rq rq;
+
+
+    record PostBulkDeleteResBody(
+            int deletedCount
+    ) {
+    }
+
+    @DeleteMapping
+    @Transactional
+    @Operation(summary = "글 여러 개 삭제", description = "글 번호 목록(ids) 또는 작성자 번호(authorId) 중 하나로 지정한 글과 그 댓글을 삭제합니다.")
+    public RsData<PostBulkDeleteResBody> deleteItems(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Long authorId
+    ) {
+
+        Member actor = rq.getActor();
+
+        if (!actor.isAdmin()) {
+            throw new ServiceException("403-1", "권한이 없습니다.");
+        }
+
+        if ((ids == null) == (authorId == null)) {
+            throw new ServiceException("400-3", "글 번호 목록과 작성자 번호 중 하나만 입력해주세요.");
+        }
+
+        int deletedCount = ids != null
+                ? postService.deleteByIds(ids.stream().distinct().toList())
+                : postService.deleteByAuthorId(authorId);
+
+        return new RsData<>(
+                "200-1",
+                "%d개의 게시물이 삭제되었습니다.".formatted(deletedCount),
+                new PostBulkDeleteResBody(deletedCount)
+        );
+    }
+}
@@ -3,19 +3,33 @@ package com.rest1.domain.post.post.controller;
 import com.rest1.domain.member.member.entity.Member;
 import com.rest1.domain.member.member.service.MemberService;
 import com.rest1.domain.post.post.dto.PostDto;
+import com.rest1.domain.post.post.dto.PostVersionDto;
+import com.rest1.domain.post.post.dto.PostWriteDto;
 import com.rest1.domain.post.post.entity.Post;
+import com.rest1.domain.post.post.service.PostExportService;
 import com.rest1.domain.post.post.service.PostService;
-import com.rest1.global.exception.ServiceException;
+import com.rest1.global.etag.ETag;
+import com.rest1.global.exception.NotFoundException;
+import com.rest1.global.responseCache.ResponseCache;
 import com.rest1.global.rq.Rq;
 import com.rest1.global.rsData.RsData;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,42 +40,139 @@ import java.util.List;
 public class ApiV1PostController {
 
     private final PostService postService;
+    private final PostExportService postExportService;
     private final MemberService memberService;
+    private final ResponseCache responseCache;
     private final Rq rq;
 
 
+    record PostItemsResBody(
+            List<PostDto> items,
+            Long nextCursor
+    ) {
+    }
+
     @GetMapping
     @Transactional(readOnly = true)
     @Operation(summary = "글 다건 조회")
-    public List<PostDto> getItems() {
-        return postService.findAll().reversed().stream()
-                .map(PostDto::new)
-                .toList();
+    public PostItemsResBody getItems(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest
+    ) {
+        int pageSize = Math.clamp(size, 1, 100);
+
+        // 조건부 요청이면 본문을 만들기 전에 버전 컬럼만 조회해서 바뀌지 않았으면 304
+        // 목록은 글이 지워져도 Last-Modified 가 앞으로 가지 않으므로 ETag 로만 판단한다.
+        if (ETag.hasIfNoneMatch(webRequest)) {
+            ETag eTag = new ETag();
+            postService.findVersionPage(cursor, pageSize + 1).forEach(version -> version.addTo(eTag));
+
+            if (eTag.checkNoneMatch(webRequest)) {
+                return null;
+            }
+        }
+
+        // 다음 페이지가 있는지 알기 위해 한 개 더 조회
+        List<PostDto> postDtos = postService.findDtoPage(cursor, pageSize + 1);
+
+        ETag eTag = new ETag();
+        postDtos.forEach(postDto -> new PostVersionDto(postDto).addTo(eTag));
+        eTag.checkNoneMatch(webRequest);
+        boolean hasNext = postDtos.size() > pageSize;
+
+        List<PostDto> items = hasNext ? postDtos.subList(0, pageSize) : postDtos;
+
+        return new PostItemsResBody(
+                items,
+                hasNext ? items.getLast().id() : null
+        );
+    }
+
+
+    record PostSearchResBody(
+            List<PostDto> items
+    ) {
+    }
+
+    @GetMapping("/search")
+    @Transactional(readOnly = true)
+    @Operation(summary = "글 검색")
+    public PostSearchResBody search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return new PostSearchResBody(
+                postService.search(q, Math.clamp(size, 1, 100))
+        );
+    }
+
+
+    @GetMapping("/export")
+    @Operation(summary = "글, 댓글 전체 내보내기 (NDJSON)")
+    public ResponseEntity<StreamingResponseBody> export() {
+
+        // 로그인한 회원만
+        rq.getActor();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(postExportService::export);
     }
 
 
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
     @Operation(summary = "글 단건 조회")
-    public PostDto getItem(
-            @PathVariable Long id
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = PostDto.class)))
+    public ResponseEntity<byte[]> getItem(
+            @PathVariable Long id,
+            WebRequest webRequest
     ) {
-        Post post = postService.findById(id).get();
-        return new PostDto(post);
+        ResponseCache.Entry entry = responseCache.getIfPresent(id, "post");
 
+        if (entry == null) {
+            // 캐시에 없고 조건부 요청이면 본문을 만들기 전에 버전 컬럼만 조회해서 바뀌지 않았으면 304
+            if (ETag.isConditional(webRequest)) {
+                ETag eTag = new ETag();
+                postService.findVersionById(id).ifPresent(version -> version.addTo(eTag));
+
+                if (!eTag.isEmpty() && eTag.checkNotModified(webRequest)) {
+                    return null;
+                }
+            }
+
+            entry = responseCache.get(
+                    id,
+                    "post",
+                    () -> postService.findDtoById(id).orElseThrow(NotFoundException::new),
+                    postDto -> {
+                        ETag eTag = new ETag();
+                        new PostVersionDto(postDto).addTo(eTag);
+                        return eTag;
+                    }
+            );
+        }
+
+        if (webRequest.checkNotModified(entry.eTag(), entry.lastModifiedMillis())) {
+            return null;
+        }
+
+        return entry.toResponseEntity();
     }
 
 
     @DeleteMapping("/{id}")
+    @Transactional
     @Operation(summary = "글 삭제")
     public RsData<Void> deleteItem(
             @PathVariable Long id
     ) {
 
         Member actor = rq.getActor();
-        Post post = postService.findById(id).get();
+        Post post = postService.findById(id).orElseThrow(NotFoundException::new);
 
-        if(!actor.equals(post.getAuthor())) throw new ServiceException("403-1", "삭제 권한이 없습니다.");
+        post.checkActorDelete(actor);
 
         postService.delete(post);
 
@@ -108,6 +219,42 @@ public class ApiV1PostController {
     }
 
 
+    // 항목 하나라도 유효하지 않으면 아무것도 저장하지 않는다.
+    record PostBulkWriteReqBody(
+            @NotEmpty
+            @Size(max = 5000)
+            List<@Valid PostWriteReqBody> items
+    ) {
+    }
+
+    record PostBulkWriteResBody(
+            List<Long> ids
+    ) {
+    }
+
+    @PostMapping("/bulk")
+    @Transactional
+    @Operation(summary = "글 여러 개 작성")
+    public RsData<PostBulkWriteResBody> createItems(
+            @RequestBody @Valid PostBulkWriteReqBody reqBody
+    ) {
+
+        Member actor = rq.getActor();
+        List<Long> ids = postService.writeAll(
+                actor,
+                reqBody.items.stream()
+                        .map(item -> new PostWriteDto(item.title, item.content))
+                        .toList()
+        );
+
+        return new RsData<>(
+                "201-1",
+                "%d개의 게시물이 생성되었습니다.".formatted(ids.size()),
+                new PostBulkWriteResBody(ids)
+        );
+    }
+
+
     record PostModifyReqBody(
             @NotBlank
             @Size(min = 2, max = 10)
@@ -115,7 +262,11 @@ public class ApiV1PostController {
 
             @NotBlank
             @Size(min = 2, max = 100)
-            String content
+            String content,
+
+            // 글을 읽을 때 받은 version, 그 사이에 다른 요청이 먼저 수정했으면 409-2
+            @PositiveOrZero
+            Long version
     ) {
     }
 
@@ -128,13 +279,9 @@ public class ApiV1PostController {
     ) {
 
         Member actor = rq.getActor();
-        Post post = postService.findById(id).get();
-
-        // 권한 체크
-        if(!actor.equals(post.getAuthor())) throw new ServiceException("403-1", "수정 권한이 없습니다.");
 
-        // 수정 로직
-        postService.modify(post, reqBody.title, reqBody.content);
+        // 권한 체크 후 수정
+        postService.modify(actor, id, reqBody.title, reqBody.content, reqBody.version);
 
         return new RsData(
                 "200-1",
@@ -1,5 +1,6 @@
 package com.rest1.domain.post.post.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.rest1.domain.post.post.entity.Post;
 
 import java.time.LocalDateTime;
@@ -11,7 +12,14 @@ public record PostDto(
         String title,
         String content,
         Long authorId,
-        String authorName
+        String authorName,
+        long commentCount,
+        LocalDateTime lastCommentAt,
+        // 글 수정 요청에 그대로 돌려보내서 그 사이에 다른 요청이 먼저 수정했는지 확인한다.
+        long version,
+        // 응답에는 넣지 않고 ETag, Last-Modified 를 만드는 데만 쓴다.
+        @JsonIgnore
+        LocalDateTime commentsModifyDate
 ) {
     public PostDto(Post post) {
         this(
@@ -21,7 +29,11 @@ public record PostDto(
                 post.getTitle(),
                 post.getContent(),
                 post.getAuthor().getId(),
-                post.getAuthor().getName()
+                post.getAuthor().getName(),
+                post.getCommentCount(),
+                post.getLastCommentAt(),
+                post.getVersion(),
+                post.getCommentsModifyDate()
         );
     }
 }
@@ -0,0 +1,35 @@
+package com.rest1.domain.post.post.dto;
+
+import com.rest1.global.etag.ETag;
+
+import java.time.LocalDateTime;
+
+// PostDto 가 바뀌었는지 판단하는 데 필요한 컬럼만
+public record PostVersionDto(
+        Long id,
+        LocalDateTime modifyDate,
+        long commentCount,
+        LocalDateTime lastCommentAt,
+        LocalDateTime commentsModifyDate,
+        String authorName
+) {
+    public PostVersionDto(PostDto postDto) {
+        this(
+                postDto.id(),
+                postDto.modifyDate(),
+                postDto.commentCount(),
+                postDto.lastCommentAt(),
+                postDto.commentsModifyDate(),
+                postDto.authorName()
+        );
+    }
+
+    public void addTo(ETag eTag) {
+        eTag.add(id)
+                .add(modifyDate)
+                .add(commentCount)
+                .add(lastCommentAt)
+                .add(commentsModifyDate)
+                .add(authorName);
+    }
+}
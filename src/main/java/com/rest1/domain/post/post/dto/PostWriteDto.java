@@ -0,0 +1,8 @@
+package com.rest1.domain.post.post.dto;
+
+// 여러 글을 한 번에 작성할 때 글 하나의 입력값
+public record PostWriteDto(
+        String title,
+        String content
+) {
+}
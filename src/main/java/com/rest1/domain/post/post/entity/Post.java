@@ -2,25 +2,53 @@ package com.rest1.domain.post.post.entity;
 
 import com.rest1.domain.member.member.entity.Member;
 import com.rest1.domain.post.comment.entity.Comment;
+import com.rest1.global.exception.ServiceException;
 import com.rest1.global.jpa.entity.BaseEntity;
+import com.rest1.global.rsData.RsData;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 @NoArgsConstructor
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate // commentCount 등은 update 쿼리로만 바뀌므로, 글 수정 시 오래된 값으로 덮어쓰지 않도록 바뀐 컬럼만 update
 public class Post extends BaseEntity {
+    private static final RsData<Void> MODIFY_FORBIDDEN = new RsData<>("403-1", "수정 권한이 없습니다.");
+    private static final RsData<Void> DELETE_FORBIDDEN = new RsData<>("403-2", "삭제 권한이 없습니다.");
+
     private String title;
     private String content;
 
+    // 제목, 내용 수정 충돌 감지용, 댓글 수 등 update 쿼리로만 바뀌는 컬럼은 버전을 올리지 않는다.
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    @ColumnDefault("0")
+    private long commentCount;
+    private LocalDateTime lastCommentAt;
+    // 댓글이 추가/삭제되어 댓글 수, 마지막 댓글 시각이 바뀐 시각, 글 자체의 수정 시각(modifyDate)과 따로 둔다.
+    // 마지막 댓글이 지워지면 lastCommentAt 은 앞으로 돌아가므로 Last-Modified 는 이 값으로 앞으로 가게 한다.
+    private LocalDateTime commentsModifyDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private Member author;
 
+    // 댓글은 각자 다른 행이므로 댓글 추가/삭제가 서로, 또는 글 수정과 충돌하지 않도록 글 버전에서 뺀다.
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "post", cascade = {CascadeType.PERSIST, CascadeType.REMOVE}, orphanRemoval=true, fetch = FetchType.LAZY)
     private List<Comment> comments = new ArrayList<>();
 
@@ -35,27 +63,22 @@ public class Post extends BaseEntity {
         this.content = content;
     }
 
-    public Comment addComment(Member author, String content) {
-        Comment comment = new Comment(author, content, this);
-        this.comments.add(comment);
-
-        return comment;
+    public void checkActorModify(Member actor) {
+        if(!this.author.getId().equals(actor.getId())) {
+            throw new ServiceException(MODIFY_FORBIDDEN);
+        }
     }
 
-    public void deleteComment(Long commentId) {
-        Comment comment = findCommentById(commentId).get();
-        this.comments.remove(comment);
+    public void checkActorDelete(Member actor) {
+        if(!this.author.getId().equals(actor.getId())) {
+            throw new ServiceException(DELETE_FORBIDDEN);
+        }
     }
 
-    public Comment updateComment(Long commentId, String content) {
-        Comment comment = findCommentById(commentId).get();
-        comment.update(content);
-        return comment;
-    }
+    public Comment addComment(Member author, String content) {
+        Comment comment = new Comment(author, content, this);
+        this.comments.add(comment);
 
-    public Optional<Comment> findCommentById(Long commentId) {
-        return comments.stream()
-                .filter(c -> c.getId().equals(commentId))
-                .findFirst();
+        return comment;
     }
 }
@@ -1,7 +1,132 @@
 package com.rest1.domain.post.post.repository;
 
+import com.rest1.domain.post.post.dto.PostDto;
+import com.rest1.domain.post.post.dto.PostVersionDto;
 import com.rest1.domain.post.post.entity.Post;
+import com.rest1.domain.post.post.search.PostSearchDoc;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    @Query("""
+            select new com.rest1.domain.post.post.dto.PostDto(p.id, p.createDate, p.modifyDate, p.title, p.content, a.id, a.nickname, p.commentCount, p.lastCommentAt, p.version, p.commentsModifyDate)
+            from Post p
+            join p.author a
+            order by p.id desc
+            """)
+    List<PostDto> findDtos(Limit limit);
+
+    @Query("""
+            select new com.rest1.domain.post.post.dto.PostDto(p.id, p.createDate, p.modifyDate, p.title, p.content, a.id, a.nickname, p.commentCount, p.lastCommentAt, p.version, p.commentsModifyDate)
+            from Post p
+            join p.author a
+            where p.id < :cursor
+            order by p.id desc
+            """)
+    List<PostDto> findDtosByIdLessThan(Long cursor, Limit limit);
+
+    @Query("""
+            select new com.rest1.domain.post.post.dto.PostDto(p.id, p.createDate, p.modifyDate, p.title, p.content, a.id, a.nickname, p.commentCount, p.lastCommentAt, p.version, p.commentsModifyDate)
+            from Post p
+            join p.author a
+            where p.id = :id
+            """)
+    Optional<PostDto> findDtoById(Long id);
+
+    @Query("""
+            select new com.rest1.domain.post.post.dto.PostVersionDto(p.id, p.modifyDate, p.commentCount, p.lastCommentAt, p.commentsModifyDate, a.nickname)
+            from Post p
+            join p.author a
+            order by p.id desc
+            """)
+    List<PostVersionDto> findVersions(Limit limit);
+
+    @Query("""
+            select new com.rest1.domain.post.post.dto.PostVersionDto(p.id, p.modifyDate, p.commentCount, p.lastCommentAt, p.commentsModifyDate, a.nickname)
+            from Post p
+            join p.author a
+            where p.id < :cursor
+            order by p.id desc
+            """)
+    List<PostVersionDto> findVersionsByIdLessThan(Long cursor, Limit limit);
+
+    @Query("""
+            select new com.rest1.domain.post.post.dto.PostVersionDto(p.id, p.modifyDate, p.commentCount, p.lastCommentAt, p.commentsModifyDate, a.nickname)
+            from Post p
+            join p.author a
+            where p.id = :id
+            """)
+    Optional<PostVersionDto> findVersionById(Long id);
+
+    @Query("""
+            select new com.rest1.domain.post.post.dto.PostDto(p.id, p.createDate, p.modifyDate, p.title, p.content, a.id, a.nickname, p.commentCount, p.lastCommentAt, p.version, p.commentsModifyDate)
+            from Post p
+            join p.author a
+            where p.id in :ids
+            """)
+    List<PostDto> findDtosByIdIn(List<Long> ids);
+
+    @Query("""
+            select new com.rest1.domain.post.post.search.PostSearchDoc(p.id, p.title, p.content)
+            from Post p
+            where p.id > :cursor
+            order by p.id asc
+            """)
+    List<PostSearchDoc> findSearchDocsByIdGreaterThan(long cursor, Limit limit);
+
+    @Modifying
+    @Query("""
+            update Post p
+            set p.commentCount = p.commentCount + :count, p.lastCommentAt = :lastCommentAt, p.commentsModifyDate = :lastCommentAt
+            where p.id = :id
+            """)
+    int increaseCommentCount(Long id, long count, LocalDateTime lastCommentAt);
+
+    // 마지막 댓글이 지워졌을 수 있으므로 마지막 댓글 시각은 남은 댓글로 다시 계산한다. (댓글을 먼저 지운 뒤 호출)
+    @Modifying
+    @Query("""
+            update Post p
+            set p.commentCount = p.commentCount - :count, p.commentsModifyDate = :commentsModifyDate,
+            p.lastCommentAt = (select max(c.createDate) from Comment c where c.post = p)
+            where p.id = :id
+            """)
+    int decreaseCommentCount(Long id, long count, LocalDateTime commentsModifyDate);
+
+    // 값이 틀린 글만 고치고, 고친 글의 Last-Modified 가 앞으로 가도록 commentsModifyDate 를 올린다.
+    // 댓글 작성 시 lastCommentAt 은 댓글이 저장되기 조금 전의 시각이므로, 마지막 댓글보다 늦거나 댓글 유무와 맞지 않을 때만 틀린 것으로 본다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Post p
+            set p.commentCount = (select count(c) from Comment c where c.post = p),
+            p.lastCommentAt = (select max(c.createDate) from Comment c where c.post = p),
+            p.commentsModifyDate = :commentsModifyDate
+            where p.commentCount <> (select count(c) from Comment c where c.post = p)
+            or p.lastCommentAt > (select max(c.createDate) from Comment c where c.post = p)
+            or (p.lastCommentAt is null and exists (select c.id from Comment c where c.post = p))
+            or (p.lastCommentAt is not null and not exists (select c.id from Comment c where c.post = p))
+            """)
+    int repairCommentStats(LocalDateTime commentsModifyDate);
+
+    @Query("""
+            select p.id
+            from Post p
+            where p.author.id = :authorId
+            """)
+    List<Long> findIdsByAuthorId(Long authorId);
+
+    // 지워진 글, 댓글이 영속성 컨텍스트에 남지 않도록 비운다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            delete from Post p
+            where p.id in :ids
+            """)
+    int deleteByIdIn(Collection<Long> ids);
 }
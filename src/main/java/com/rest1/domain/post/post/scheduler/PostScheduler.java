@@ -0,0 +1,23 @@
+package com.rest1.domain.post.post.scheduler;
+
+import com.rest1.domain.post.post.service.PostService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostScheduler {
+
+    private final PostService postService;
+
+    // 증감 쿼리가 어긋났을 경우를 대비해서 주기적으로 전체를 다시 계산
+    @Scheduled(cron = "${custom.post.commentStatsRepairCron}")
+    public void repairCommentStats() {
+        int count = postService.repairCommentStats();
+
+        log.info("글 {}건의 댓글 수를 다시 계산했습니다.", count);
+    }
+}
@@ -0,0 +1,9 @@
+package com.rest1.domain.post.post.search;
+
+// 검색 색인 재구축 시 엔티티 대신 읽어오는 최소 컬럼
+public record PostSearchDoc(
+        Long id,
+        String title,
+        String content
+) {
+}
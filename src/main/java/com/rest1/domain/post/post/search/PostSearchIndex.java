@@ -0,0 +1,380 @@
+package com.rest1.domain.post.post.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 게시글 제목/내용에 대한 메모리 역색인
+// 문서 번호(docId)는 추가될 때마다 1씩 증가하므로 각 토큰의 문서 목록(posting list)은 항상 정렬된 상태의 int 배열이다.
+// 수정/삭제된 문서는 지우지 않고 삭제 표시만 남긴다. 수정은 삭제 표시 후 새 문서 번호로 다시 추가한다.
+// 삭제 표시가 쌓이면 압축하면서 살아있는 문서에 번호를 순서대로 다시 매겨 배열을 줄인다.
+@Component
+public class PostSearchIndex {
+
+    private static final class Postings {
+        private int[] docIds = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(int docId, int freq) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+
+            docIds[size] = docId;
+            freqs[size] = freq;
+            size++;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postingsByToken = new HashMap<>();
+    private final Map<Long, Integer> docIdByPostId = new HashMap<>();
+    private long[] postIds = new long[1024];
+    private long[] deleted = new long[16];
+    private int docCount;
+    private int liveCount;
+    private int deletedCount;
+
+    public void put(long postId, String title, String content) {
+        Map<String, int[]> freqByToken = new HashMap<>();
+
+        // 제목은 내용보다 가중치를 두어 3번 센다.
+        for (String token : PostSearchTokenizer.tokenize(title)) {
+            freqByToken.computeIfAbsent(token, key -> new int[1])[0] += 3;
+        }
+
+        for (String token : PostSearchTokenizer.tokenize(content)) {
+            freqByToken.computeIfAbsent(token, key -> new int[1])[0]++;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            removeInLock(postId);
+
+            int docId = docCount++;
+
+            if (docId == postIds.length) {
+                postIds = Arrays.copyOf(postIds, docId * 2);
+            }
+
+            if ((docId >> 6) == deleted.length) {
+                deleted = Arrays.copyOf(deleted, deleted.length * 2);
+            }
+
+            postIds[docId] = postId;
+            docIdByPostId.put(postId, docId);
+            liveCount++;
+
+            freqByToken.forEach((token, freq) ->
+                    postingsByToken.computeIfAbsent(token, key -> new Postings()).add(docId, freq[0])
+            );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long postId) {
+        lock.writeLock().lock();
+
+        try {
+            removeInLock(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInLock(long postId) {
+        Integer docId = docIdByPostId.remove(postId);
+
+        if (docId == null) {
+            return;
+        }
+
+        deleted[docId >> 6] |= 1L << docId;
+        liveCount--;
+        deletedCount++;
+
+        if (deletedCount > Math.max(1024, liveCount)) {
+            compactInLock();
+        }
+    }
+
+    // 삭제 표시된 문서가 살아있는 문서보다 많아지면 문서 목록에서 걸러내 메모리와 검색 시간을 되찾는다.
+    // 문서 번호는 순서를 유지한 채 앞으로 당기므로 문서 목록은 정렬된 상태 그대로이고, 같은 점수의 최신순도 바뀌지 않는다.
+    private void compactInLock() {
+        int[] newDocIds = new int[docCount];
+        int newDocCount = 0;
+
+        for (int docId = 0; docId < docCount; docId++) {
+            newDocIds[docId] = isDeleted(docId) ? -1 : newDocCount++;
+        }
+
+        Iterator<Postings> iterator = postingsByToken.values().iterator();
+
+        while (iterator.hasNext()) {
+            Postings postings = iterator.next();
+            int size = 0;
+
+            for (int i = 0; i < postings.size; i++) {
+                int newDocId = newDocIds[postings.docIds[i]];
+
+                if (newDocId >= 0) {
+                    postings.docIds[size] = newDocId;
+                    postings.freqs[size] = postings.freqs[i];
+                    size++;
+                }
+            }
+
+            if (size == 0) {
+                iterator.remove();
+                continue;
+            }
+
+            // 크게 줄었으면 배열도 줄인다.
+            if (size * 4 < postings.docIds.length && postings.docIds.length > 4) {
+                postings.docIds = Arrays.copyOf(postings.docIds, Math.max(4, size * 2));
+                postings.freqs = Arrays.copyOf(postings.freqs, Math.max(4, size * 2));
+            }
+
+            postings.size = size;
+        }
+
+        long[] newPostIds = new long[Math.max(1024, newDocCount * 2)];
+
+        for (int docId = 0; docId < docCount; docId++) {
+            if (newDocIds[docId] >= 0) {
+                newPostIds[newDocIds[docId]] = postIds[docId];
+            }
+        }
+
+        docIdByPostId.replaceAll((postId, docId) -> newDocIds[docId]);
+        postIds = newPostIds;
+        deleted = new long[Math.max(16, (newPostIds.length + 63) >> 6)];
+        docCount = newDocCount;
+        deletedCount = 0;
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+
+        try {
+            postingsByToken.clear();
+            docIdByPostId.clear();
+            postIds = new long[1024];
+            deleted = new long[16];
+            docCount = 0;
+            liveCount = 0;
+            deletedCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 모든 검색어 토큰을 포함하는 게시글 번호를 점수(tf * idf 의 합)가 높은 순, 같으면 최신순으로 최대 limit 개 반환한다.
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = PostSearchTokenizer.tokenize(query);
+
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+
+        try {
+            return searchInLock(new LinkedHashSet<>(tokens), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> searchInLock(Set<String> tokens, int limit) {
+        Postings[] lists = new Postings[tokens.size()];
+        double[] idfs = new double[lists.length];
+        int i = 0;
+
+        for (String token : tokens) {
+            Postings postings = postingsByToken.get(token);
+
+            if (postings == null) {
+                return List.of();
+            }
+
+            lists[i++] = postings;
+        }
+
+        // 가장 짧은 목록을 기준으로 나머지 목록에서 이진 탐색해 교집합을 구한다.
+        Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+        for (i = 0; i < lists.length; i++) {
+            idfs[i] = Math.log(1 + (double) liveCount / lists[i].size);
+        }
+
+        int[] cursors = new int[lists.length];
+        TopHits top = new TopHits(limit);
+        Postings base = lists[0];
+
+        candidates:
+        for (int b = 0; b < base.size; b++) {
+            int docId = base.docIds[b];
+
+            if (isDeleted(docId)) {
+                continue;
+            }
+
+            double score = base.freqs[b] * idfs[0];
+
+            for (i = 1; i < lists.length; i++) {
+                Postings postings = lists[i];
+                int found = Arrays.binarySearch(postings.docIds, cursors[i], postings.size, docId);
+
+                if (found < 0) {
+                    cursors[i] = -found - 1;
+
+                    if (cursors[i] == postings.size) {
+                        break candidates;
+                    }
+
+                    continue candidates;
+                }
+
+                cursors[i] = found + 1;
+                score += postings.freqs[found] * idfs[i];
+            }
+
+            top.offer(score, docId);
+        }
+
+        int[] docIds = top.sortedDocIds();
+        List<Long> result = new ArrayList<>(docIds.length);
+
+        for (int docId : docIds) {
+            result.add(postIds[docId]);
+        }
+
+        return result;
+    }
+
+    // 점수 상위 limit 개만 유지하는 최소 힙, 후보마다 객체를 만들지 않는다.
+    // 점수가 같으면 문서 번호가 큰(최근에 추가/수정된) 쪽이 앞선다.
+    private static final class TopHits {
+        private final double[] scores;
+        private final int[] docIds;
+        private int size;
+
+        private TopHits(int limit) {
+            scores = new double[limit];
+            docIds = new int[limit];
+        }
+
+        private void offer(double score, int docId) {
+            if (size < scores.length) {
+                scores[size] = score;
+                docIds[size] = docId;
+                siftUp(size++);
+                return;
+            }
+
+            if (!less(0, score, docId)) {
+                return;
+            }
+
+            scores[0] = score;
+            docIds[0] = docId;
+            siftDown(0);
+        }
+
+        private int[] sortedDocIds() {
+            int[] sorted = new int[size];
+
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                sorted[i] = docIds[0];
+                size--;
+                scores[0] = scores[size];
+                docIds[0] = docIds[size];
+                siftDown(0);
+            }
+
+            return sorted;
+        }
+
+        // heap[i] 가 (score, docId) 보다 순위가 낮은가
+        private boolean less(int i, double score, int docId) {
+            return scores[i] < score || (scores[i] == score && docIds[i] < docId);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >> 1;
+
+                if (!less(i, scores[parent], docIds[parent])) {
+                    return;
+                }
+
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+
+                if (left < size && less(left, scores[smallest], docIds[smallest])) {
+                    smallest = left;
+                }
+
+                if (right < size && less(right, scores[smallest], docIds[smallest])) {
+                    smallest = right;
+                }
+
+                if (smallest == i) {
+                    return;
+                }
+
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+
+            int docId = docIds[a];
+            docIds[a] = docIds[b];
+            docIds[b] = docId;
+        }
+    }
+
+    private boolean isDeleted(int docId) {
+        return (deleted[docId >> 6] & (1L << docId)) != 0;
+    }
+
+    // 문서 번호를 매길 수 있는 칸 수, 압축 후 살아있는 문서 수에 맞춰 줄어든다.
+    int capacity() {
+        lock.readLock().lock();
+
+        try {
+            return postIds.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.rest1.domain.post.post.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// 한글(및 한자, 가나)은 형태소 분석 없이 2글자 단위(bigram)로, 그 외 영문/숫자는 단어 단위로 자른다.
+// 예) "Spring 게시판입니다" -> [spring, 게시, 시판, 판입, 입니, 니다]
+public class PostSearchTokenizer {
+
+    private PostSearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+
+        if (text == null) {
+            return tokens;
+        }
+
+        String lowerText = text.toLowerCase(Locale.ROOT);
+        int length = lowerText.length();
+        int start = 0;
+
+        while (start < length) {
+            char c = lowerText.charAt(start);
+
+            if (!Character.isLetterOrDigit(c)) {
+                start++;
+                continue;
+            }
+
+            boolean cjk = isCjk(c);
+            int end = start + 1;
+
+            while (end < length && Character.isLetterOrDigit(lowerText.charAt(end)) && isCjk(lowerText.charAt(end)) == cjk) {
+                end++;
+            }
+
+            if (!cjk || end - start == 1) {
+                tokens.add(lowerText.substring(start, end));
+            } else {
+                for (int i = start; i < end - 1; i++) {
+                    tokens.add(lowerText.substring(i, i + 2));
+                }
+            }
+
+            start = end;
+        }
+
+        return tokens;
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
@@ -0,0 +1,183 @@
+package com.rest1.domain.post.post.service;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rest1.domain.post.comment.dto.CommentDto;
+import com.rest1.domain.post.post.dto.PostDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// 전체 글과 댓글을 한 줄에 글 하나씩(NDJSON) 내보낸다.
+// 글, 댓글을 각각 id 순으로 읽는 전진 전용 커서 두 개를 병합하므로 메모리 사용량은 테이블 크기와 무관하다.
+// StatelessSession 과 DTO 조회만 쓰므로 영속성 컨텍스트에 쌓이는 엔티티가 없다.
+@Service
+public class PostExportService {
+
+    private static final String POSTS = """
+            select new com.rest1.domain.post.post.dto.PostDto(p.id, p.createDate, p.modifyDate, p.title, p.content, a.id, a.nickname, p.commentCount, p.lastCommentAt, p.version, p.commentsModifyDate)
+            from Post p
+            join p.author a
+            order by p.id
+            """;
+
+    private static final String COMMENTS = """
+            select new com.rest1.domain.post.comment.dto.CommentDto(c.id, c.createDate, c.modifyDate, c.content, a.id, a.nickname, c.post.id)
+            from Comment c
+            join c.author a
+            order by c.post.id, c.id
+            """;
+
+    // 댓글은 직렬화되는 동안 커서에서 하나씩 꺼낸다.
+    record PostExportLine(
+            @JsonUnwrapped
+            PostDto post,
+            Iterator<CommentDto> comments
+    ) {
+    }
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+    private final int fetchSize;
+
+    public PostExportService(
+            EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper,
+            @Value("${custom.postExport.fetchSize:1000}") int fetchSize
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+        // 줄마다 flush 하지 않고 JsonGenerator 버퍼가 찰 때만 내보낸다.
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    // 내보낸 글 수 + 댓글 수
+    public long export(OutputStream out) throws IOException {
+        // 커서를 동시에 두 개 열어야 하므로 연결도 두 개 쓴다. (MySQL 스트리밍 결과는 연결당 하나만 열 수 있다.)
+        try (
+                StatelessSession postSession = sessionFactory.openStatelessSession();
+                StatelessSession commentSession = sessionFactory.openStatelessSession()
+        ) {
+            postSession.getTransaction().begin();
+            commentSession.getTransaction().begin();
+
+            try (
+                    ScrollableResults<PostDto> posts = scroll(postSession, POSTS, PostDto.class);
+                    ScrollableResults<CommentDto> comments = scroll(commentSession, COMMENTS, CommentDto.class)
+            ) {
+                long rows = write(out, posts, new CommentCursor(comments));
+
+                postSession.getTransaction().commit();
+                commentSession.getTransaction().commit();
+
+                return rows;
+            } catch (RuntimeException | IOException e) {
+                postSession.getTransaction().rollback();
+                commentSession.getTransaction().rollback();
+                throw e;
+            }
+        }
+    }
+
+    private <T> ScrollableResults<T> scroll(StatelessSession session, String hql, Class<T> type) {
+        return session.createSelectionQuery(hql, type)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private long write(OutputStream out, ScrollableResults<PostDto> posts, CommentCursor comments) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long rows = 0;
+
+        while (posts.next()) {
+            PostDto post = posts.get();
+
+            lineWriter.writeValue(generator, new PostExportLine(post, comments.of(post.id())));
+            generator.writeRaw('\n');
+
+            rows += 1 + comments.takeCount();
+        }
+
+        generator.close();
+
+        return rows;
+    }
+
+    // 글 id 순으로 정렬된 댓글 커서에서 현재 글의 댓글만 꺼내는 반복자
+    private static class CommentCursor {
+
+        private final ScrollableResults<CommentDto> results;
+        private CommentDto current;
+        private boolean exhausted;
+        private long count;
+
+        private CommentCursor(ScrollableResults<CommentDto> results) {
+            this.results = results;
+        }
+
+        private Iterator<CommentDto> of(long postId) {
+            // 글 커서를 연 뒤에 추가된 글의 댓글 등 앞선 글에 속한 댓글은 건너뛴다.
+            while (peek() != null && current.postId() < postId) {
+                current = null;
+            }
+
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return peek() != null && current.postId() == postId;
+                }
+
+                @Override
+                public CommentDto next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    CommentDto next = current;
+                    current = null;
+                    count++;
+
+                    return next;
+                }
+            };
+        }
+
+        private CommentDto peek() {
+            if (current == null && !exhausted) {
+                if (results.next()) {
+                    current = results.get();
+                } else {
+                    exhausted = true;
+                }
+            }
+
+            return current;
+        }
+
+        private long takeCount() {
+            long taken = count;
+            count = 0;
+
+            return taken;
+        }
+    }
+}
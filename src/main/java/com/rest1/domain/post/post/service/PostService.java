@@ -1,25 +1,104 @@
 package com.rest1.domain.post.post.service;
 
 import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.post.comment.dto.CommentDto;
+import com.rest1.domain.post.comment.dto.CommentVersionDto;
 import com.rest1.domain.post.comment.entity.Comment;
+import com.rest1.domain.post.comment.repository.CommentRepository;
+import com.rest1.domain.post.post.dto.PostDto;
+import com.rest1.domain.post.post.dto.PostVersionDto;
+import com.rest1.domain.post.post.dto.PostWriteDto;
 import com.rest1.domain.post.post.entity.Post;
 import com.rest1.domain.post.post.repository.PostRepository;
+import com.rest1.domain.post.post.search.PostSearchDoc;
+import com.rest1.domain.post.post.search.PostSearchIndex;
+import com.rest1.global.exception.NotFoundException;
+import com.rest1.global.exception.ServiceException;
+import com.rest1.global.responseCache.ResponseCache;
+import com.rest1.global.rsData.RsData;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
+    // 여러 건을 한 번에 저장할 때 영속성 컨텍스트를 비우는 주기, JDBC 배치 크기(50)의 배수
+    private static final int BULK_FLUSH_SIZE = 500;
+    // 한 delete 문의 in 절에 넣는 글 id 수
+    private static final int BULK_DELETE_SIZE = 1000;
+
+    private static final RsData<Void> COMMENT_MODIFY_FORBIDDEN = new RsData<>("403-1", "댓글 수정 권한이 없습니다.");
+    private static final RsData<Void> COMMENT_DELETE_FORBIDDEN = new RsData<>("403-2", "댓글 삭제 권한이 없습니다.");
+
+    private final EntityManager entityManager;
     private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final ResponseCache responseCache;
+
+    // 검색 색인은 메모리에만 있으므로 시작할 때 DB 에서 다시 만든다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void initSearchIndex() {
+        long cursor = 0;
+
+        while (true) {
+            List<PostSearchDoc> docs = postRepository.findSearchDocsByIdGreaterThan(cursor, Limit.of(1000));
+
+            docs.forEach(doc -> postSearchIndex.put(doc.id(), doc.title(), doc.content()));
+
+            if (docs.size() < 1000) {
+                return;
+            }
+
+            cursor = docs.getLast().id();
+        }
+    }
 
     public Post write(Member author, String title, String content) {
         Post post = new Post(author, title, content);
+        postRepository.save(post);
+
+        long id = post.getId();
+        afterCommit(() -> postSearchIndex.put(id, title, content));
+
+        return post;
+    }
+
+    // 한 트랜잭션에서 여러 글을 작성하고, 입력 순서대로 id 를 돌려준다.
+    // 주기적으로 flush/clear 해서 항목 수와 상관없이 영속성 컨텍스트 크기가 일정하다.
+    public List<Long> writeAll(Member author, List<PostWriteDto> items) {
+        List<Long> ids = new ArrayList<>(items.size());
+        List<PostSearchDoc> docs = new ArrayList<>(items.size());
+
+        for (PostWriteDto item : items) {
+            Post post = postRepository.save(new Post(author, item.title(), item.content()));
+
+            ids.add(post.getId());
+            docs.add(new PostSearchDoc(post.getId(), item.title(), item.content()));
+
+            if (ids.size() % BULK_FLUSH_SIZE == 0) {
+                flushAndClear();
+            }
+        }
 
-        return postRepository.save(post);
+        flushAndClear();
+        afterCommit(() -> docs.forEach(doc -> postSearchIndex.put(doc.id(), doc.title(), doc.content())));
+
+        return ids;
     }
 
     public long count() {
@@ -30,31 +109,225 @@ public class PostService {
         return postRepository.findById(id);
     }
 
-    public List<Post> findAll() {
-        return postRepository.findAll();
+    public boolean existsById(Long id) {
+        return postRepository.existsById(id);
+    }
+
+    // 최신순, cursor 가 있으면 그보다 id 가 작은 글만
+    public List<PostDto> findDtoPage(Long cursor, int limit) {
+        if (cursor == null) {
+            return postRepository.findDtos(Limit.of(limit));
+        }
+
+        return postRepository.findDtosByIdLessThan(cursor, Limit.of(limit));
+    }
+
+    public Optional<PostDto> findDtoById(Long id) {
+        return postRepository.findDtoById(id);
+    }
+
+    // findDtoPage 와 같은 행의 버전 컬럼만
+    public List<PostVersionDto> findVersionPage(Long cursor, int limit) {
+        if (cursor == null) {
+            return postRepository.findVersions(Limit.of(limit));
+        }
+
+        return postRepository.findVersionsByIdLessThan(cursor, Limit.of(limit));
+    }
+
+    public Optional<PostVersionDto> findVersionById(Long id) {
+        return postRepository.findVersionById(id);
+    }
+
+    // 최신순, cursor 가 있으면 그보다 id 가 작은 댓글만
+    public List<CommentDto> findCommentDtoPage(Long postId, Long cursor, int limit) {
+        if (cursor == null) {
+            return commentRepository.findDtosByPostId(postId, Limit.of(limit));
+        }
+
+        return commentRepository.findDtosByPostIdAndIdLessThan(postId, cursor, Limit.of(limit));
+    }
+
+    // findCommentDtoPage 와 같은 행의 버전 컬럼만
+    public List<CommentVersionDto> findCommentVersionPage(Long postId, Long cursor, int limit) {
+        if (cursor == null) {
+            return commentRepository.findVersionsByPostId(postId, Limit.of(limit));
+        }
+
+        return commentRepository.findVersionsByPostIdAndIdLessThan(postId, cursor, Limit.of(limit));
+    }
+
+    public Optional<CommentDto> findCommentDto(Long postId, Long commentId) {
+        return commentRepository.findDtoByPostIdAndId(postId, commentId);
+    }
+
+    // 검색어의 모든 토큰을 포함하는 글을 관련도순으로
+    public List<PostDto> search(String query, int limit) {
+        List<Long> ids = postSearchIndex.search(query, limit);
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PostDto> postDtoById = postRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostDto::id, Function.identity()));
+
+        return ids.stream()
+                .map(postDtoById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 클라이언트가 읽은 버전(expectedVersion)과 지금 버전이 다르면 다른 요청이 먼저 수정한 것이므로 409-2 로 거절한다.
+    // 최신 글을 다시 읽어서 덮어쓰면 먼저 들어온 수정이 사라지므로 충돌해도 다시 시도하지 않는다.
+    // expectedVersion 이 없으면 읽은 뒤 ~ 저장 사이에 다른 요청이 수정한 경우만 거절한다.
+    public void modify(Member actor, Long id, String title, String content, Long expectedVersion) {
+        Post post = postRepository.findById(id).orElseThrow(NotFoundException::new);
+
+        post.checkActorModify(actor);
+
+        if (expectedVersion != null && expectedVersion != post.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Post.class, id);
+        }
+
+        modify(post, title, content);
+
+        // 충돌이 커밋 시점이 아니라 여기서 드러나도록
+        postRepository.flush();
     }
 
     public void modify(Post post, String title, String content) {
         post.update(title, content);
+        responseCache.invalidate(post.getId());
+
+        long id = post.getId();
+        afterCommit(() -> postSearchIndex.put(id, title, content));
     }
 
+    // 댓글 수는 동시에 작성되어도 틀리지 않도록 update 쿼리로 증감
     public Comment writeComment(Member author, Post post, String content) {
-        return post.addComment(author, content);
+        Comment comment = post.addComment(author, content);
+        postRepository.increaseCommentCount(post.getId(), 1, LocalDateTime.now());
+        responseCache.invalidate(post.getId());
+
+        return comment;
+    }
+
+    // 한 글에 여러 댓글을 작성하고, 입력 순서대로 id 를 돌려준다.
+    // 글의 댓글 컬렉션을 거치지 않고 저장하므로 컬렉션을 읽지 않고, 댓글 수는 한 번에 증가시킨다.
+    public List<Long> writeComments(Member author, Long postId, List<String> contents) {
+        if (postRepository.increaseCommentCount(postId, contents.size(), LocalDateTime.now()) == 0) {
+            throw new NotFoundException();
+        }
+
+        Post post = postRepository.getReferenceById(postId);
+        List<Long> ids = new ArrayList<>(contents.size());
+
+        for (String content : contents) {
+            ids.add(commentRepository.save(new Comment(author, content, post)).getId());
+
+            if (ids.size() % BULK_FLUSH_SIZE == 0) {
+                flushAndClear();
+            }
+        }
+
+        flushAndClear();
+        responseCache.invalidate(postId);
+
+        return ids;
+    }
+
+    public void deleteComment(Member actor, Long postId, Long commentId) {
+        int deleted = commentRepository.deleteByPostIdAndIdAndAuthorId(postId, commentId, actor.getId());
+
+        if (deleted == 0) {
+            throw commentNotFoundOrForbidden(postId, commentId, COMMENT_DELETE_FORBIDDEN);
+        }
+
+        postRepository.decreaseCommentCount(postId, deleted, LocalDateTime.now());
+        responseCache.invalidate(postId);
+    }
+
+    public void modifyComment(Member actor, Long postId, Long commentId, String content) {
+        int updated = commentRepository.updateContent(postId, commentId, actor.getId(), content, LocalDateTime.now());
+
+        if (updated == 0) {
+            throw commentNotFoundOrForbidden(postId, commentId, COMMENT_MODIFY_FORBIDDEN);
+        }
+
+        responseCache.invalidate(postId);
     }
 
-    public void deleteComment(Post post, Long commentId) {
-        post.deleteComment(commentId);
+    // 수정/삭제된 행이 없을 때만 원인을 구분하기 위해 한 번 더 조회
+    private ServiceException commentNotFoundOrForbidden(Long postId, Long commentId, RsData<Void> forbidden) {
+        if (commentRepository.findAuthorIdByPostIdAndId(postId, commentId).isEmpty()) {
+            return new NotFoundException();
+        }
+
+        return new ServiceException(forbidden);
     }
 
-    public void modifyComment(Post post, Long commentId, String content) {
-        post.updateComment(commentId, content);
+    // 댓글 수, 마지막 댓글 시각을 댓글 테이블 기준으로 다시 계산
+    // 어느 글이 고쳐졌는지 알 수 없으므로, 고친 글이 있으면 캐시된 응답을 전부 비운다.
+    @Transactional
+    public int repairCommentStats() {
+        int count = postRepository.repairCommentStats(LocalDateTime.now());
+
+        if (count > 0) {
+            responseCache.invalidateAll();
+        }
+
+        return count;
     }
 
     public void delete(Post post) {
-        postRepository.delete(post);
+        deleteByIds(List.of(post.getId()));
+    }
+
+    // 댓글, 글 순으로 집합 단위 delete 를 실행한다. 댓글을 읽어 오지 않으므로 댓글 수와 상관없이 쿼리 수가 일정하다.
+    public int deleteByIds(List<Long> ids) {
+        int deleted = 0;
+
+        for (int from = 0; from < ids.size(); from += BULK_DELETE_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_DELETE_SIZE, ids.size()));
+
+            commentRepository.deleteByPostIdIn(chunk);
+            deleted += postRepository.deleteByIdIn(chunk);
+        }
+
+        ids.forEach(responseCache::invalidate);
+
+        List<Long> deletedIds = List.copyOf(ids);
+        afterCommit(() -> deletedIds.forEach(postSearchIndex::remove));
+
+        return deleted;
+    }
+
+    public int deleteByAuthorId(Long authorId) {
+        return deleteByIds(postRepository.findIdsByAuthorId(authorId));
+    }
+
+    // 롤백된 변경이 검색 결과에 보이지 않도록 커밋 후에 색인에 반영한다.
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
     }
 
     public void flush() {
         postRepository.flush();
     }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
 }
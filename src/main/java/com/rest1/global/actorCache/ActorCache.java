@@ -0,0 +1,115 @@
+package com.rest1.global.actorCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.entity.MemberRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+// apiKey -> 인증 주체(Actor) 캐시, 인증이 필요한 요청마다 발생하던 findByApiKey 쿼리를 줄인다.
+@Component
+public class ActorCache implements MeterBinder {
+
+    record Actor(
+            Long id,
+            LocalDateTime createDate,
+            LocalDateTime modifyDate,
+            String username,
+            String nickname,
+            MemberRole role
+    ) {
+        Actor(Member member) {
+            this(
+                    member.getId(),
+                    member.getCreateDate(),
+                    member.getModifyDate(),
+                    member.getUsername(),
+                    member.getNickname(),
+                    member.getRole()
+            );
+        }
+
+        // 캐시에는 불변 값만 두고, 꺼낼 때마다 영속성 컨텍스트와 무관한 Member 를 새로 만든다.
+        Member toMember() {
+            return new Member(id, createDate, modifyDate, username, nickname, role);
+        }
+    }
+
+    private final boolean enabled;
+    private final Cache<String, Actor> cache;
+
+    public ActorCache(
+            @Value("${custom.actorCache.enabled:true}") boolean enabled,
+            @Value("${custom.actorCache.maximumSize:10000}") long maximumSize,
+            @Value("${custom.actorCache.expireAfterWriteSeconds:300}") long expireAfterWriteSeconds
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Member> get(String apiKey, Function<String, Optional<Member>> loader) {
+        if (!enabled) {
+            return loader.apply(apiKey);
+        }
+
+        Actor actor = cache.get(apiKey, key -> loader.apply(key).map(Actor::new).orElse(null));
+
+        return Optional.ofNullable(actor).map(Actor::toMember);
+    }
+
+    public void invalidate(String apiKey) {
+        if (!enabled || apiKey == null) {
+            return;
+        }
+
+        cache.invalidate(apiKey);
+
+        // 커밋 전에 다른 요청이 예전 값을 다시 적재할 수 있으므로 커밋 후에 한 번 더 비운다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(apiKey);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // cache.gets{cache=actorCache,result=hit|miss}, cache.evictions, cache.size 등
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "actorCache");
+    }
+}
@@ -0,0 +1,243 @@
+package com.rest1.global.apiKeyBloomFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// 유효한 API 키 집합에 대한 블룸 필터
+// 필터에 없다고 판단된 키는 DB 에도 없으므로 조회 없이 거절할 수 있다. (있다고 판단된 키는 DB 로 확인)
+// 키를 지울 수는 없으므로 지워지거나 바뀐 키가 쌓여 오탐률이 오른다, 주기적으로 새 비트 배열을 채워서 통째로 바꾼다. (rebuild)
+// 다른 서버에서 발급한 키는 다음 재구성 전까지 필터에 없다, 마지막 재구성 이후에 발급된 키는 필터에 없어도 거절하지 않고 DB 로 확인한다.
+@Component
+public class ApiKeyBloomFilter implements MeterBinder {
+
+    private final boolean enabled;
+    private final double falsePositiveProbability;
+    private final long numBits;
+    private final int numHashFunctions;
+    // 발급 후 커밋까지 걸리는 시간과 서버 간 시계 차이를 덮는 여유
+    private final long issueGraceMillis;
+    private volatile AtomicLongArray bits;
+    // 재구성 중에 들어온 키는 새 배열에도 넣는다.
+    private volatile AtomicLongArray rebuilding;
+    private volatile boolean ready;
+    // 마지막 재구성에서 키를 조회하기 시작한 시각, 이보다 (여유를 두고) 먼저 발급된 키는 모두 필터에 있다.
+    private volatile long rebuiltAtMillis;
+
+    // 마지막 재구성 이후 넣은 횟수, 같은 키를 다시 넣어도 센다.
+    private final LongAdder insertionCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder uncertainCount = new LongAdder();
+    private final LongAdder rebuildCount = new LongAdder();
+
+    public ApiKeyBloomFilter(
+            @Value("${custom.apiKeyBloomFilter.enabled:true}") boolean enabled,
+            @Value("${custom.apiKeyBloomFilter.expectedInsertions:1000000}") long expectedInsertions,
+            @Value("${custom.apiKeyBloomFilter.falsePositiveProbability:0.01}") double falsePositiveProbability,
+            @Value("${custom.apiKeyBloomFilter.issueGraceSeconds:60}") long issueGraceSeconds
+    ) {
+        long numBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+
+        this.enabled = enabled;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.bits = new AtomicLongArray((int) ((numBits + 63) / 64));
+        this.numBits = (long) bits.length() * 64;
+        this.numHashFunctions = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.issueGraceMillis = issueGraceSeconds * 1000;
+    }
+
+    // 전체 키를 다 넣기 전까지는 모든 키를 통과시킨다.
+    public void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 트랜잭션 안이면 커밋 후에 넣는다, 커밋 전에 시작한 재구성 조회에 빠진 키가 새 배열에서 사라지지 않게 한다.
+    public void put(String apiKey) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putNow(apiKey);
+                }
+            });
+
+            return;
+        }
+
+        putNow(apiKey);
+    }
+
+    // rebuilding 을 bits 보다 먼저 읽는다, null 이면 재구성 전이거나(이미 커밋된 키라 조회에 들어간다) 교체 후다. (bits 가 새 배열)
+    private void putNow(String apiKey) {
+        AtomicLongArray rebuilding = this.rebuilding;
+
+        set(bits, apiKey);
+
+        if (rebuilding != null) {
+            set(rebuilding, apiKey);
+        }
+
+        insertionCount.increment();
+    }
+
+    // 새 비트 배열을 apiKeys 로 채운 뒤 바꿔 끼운다, 채우는 동안에도 기존 배열로 판단한다.
+    // apiKeys 는 rebuilding 을 걸어 둔 뒤에 조회해야 그 사이에 커밋된 키를 놓치지 않는다.
+    // 전체 키를 목록 하나로 올리지 않도록 스트림으로 받아서 하나씩 넣고 닫는다.
+    public synchronized void rebuild(Supplier<? extends Stream<String>> apiKeys) {
+        AtomicLongArray fresh = new AtomicLongArray(bits.length());
+        long startedAtMillis = System.currentTimeMillis();
+        long count = 0;
+
+        rebuilding = fresh;
+
+        try (Stream<String> stream = apiKeys.get()) {
+            Iterator<String> iterator = stream.iterator();
+
+            while (iterator.hasNext()) {
+                set(fresh, iterator.next());
+                count++;
+            }
+
+            insertionCount.reset();
+            insertionCount.add(count);
+            bits = fresh;
+            rebuiltAtMillis = startedAtMillis;
+            ready = true;
+            rebuildCount.increment();
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void set(AtomicLongArray bits, String apiKey) {
+        long hash1 = hash(apiKey, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(apiKey, 0xC2B2AE3D27D4EB4FL);
+
+        for (int i = 0; i < numHashFunctions; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, numBits);
+            int wordIndex = (int) (bitIndex >>> 6);
+            long mask = 1L << bitIndex;
+
+            while (true) {
+                long word = bits.get(wordIndex);
+
+                if ((word & mask) != 0 || bits.compareAndSet(wordIndex, word, word | mask)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    public boolean mightContain(String apiKey) {
+        if (!enabled || !ready) {
+            return true;
+        }
+
+        AtomicLongArray bits = this.bits;
+        long hash1 = hash(apiKey, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(apiKey, 0xC2B2AE3D27D4EB4FL);
+
+        for (int i = 0; i < numHashFunctions; i++) {
+            long bitIndex = Math.floorMod(hash1 + i * hash2, numBits);
+
+            if ((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return isIssuedAfterRebuild(apiKey) || reject();
+            }
+        }
+
+        return true;
+    }
+
+    // 마지막 재구성 이후에 (다른 서버에서) 발급되어 필터에 아직 없을 수 있는 키
+    private boolean isIssuedAfterRebuild(String apiKey) {
+        if (ApiKeys.issuedAtMillis(apiKey) < rebuiltAtMillis - issueGraceMillis) {
+            return false;
+        }
+
+        uncertainCount.increment();
+        return true;
+    }
+
+    private boolean reject() {
+        rejectedCount.increment();
+        return false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getUncertainCount() {
+        return uncertainCount.sum();
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.sum();
+    }
+
+    public long getSizeInBytes() {
+        return numBits / 8;
+    }
+
+    // 지금까지 넣은 횟수로 추정한 오탐률, (1 - e^(-kn/m))^k
+    public double getExpectedFalsePositiveProbability() {
+        return Math.pow(1 - Math.exp(-(double) numHashFunctions * insertionCount.sum() / numBits), numHashFunctions);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("apiKeyBloomFilter.size", this, ApiKeyBloomFilter::getSizeInBytes)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("apiKeyBloomFilter.insertions", insertionCount, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("apiKeyBloomFilter.expectedFpp", this, ApiKeyBloomFilter::getExpectedFalsePositiveProbability)
+                .description("넣은 횟수로 추정한 오탐률")
+                .register(registry);
+        Gauge.builder("apiKeyBloomFilter.targetFpp", this, filter -> filter.falsePositiveProbability)
+                .register(registry);
+        FunctionCounter.builder("apiKeyBloomFilter.rejected", rejectedCount, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("apiKeyBloomFilter.uncertain", uncertainCount, LongAdder::sum)
+                .description("필터에 없지만 마지막 재구성 이후에 발급된 키라서 DB 로 확인한 횟수")
+                .register(registry);
+        FunctionCounter.builder("apiKeyBloomFilter.rebuilds", rebuildCount, LongAdder::sum)
+                .register(registry);
+    }
+
+    private static long hash(String value, long seed) {
+        long h = seed;
+
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+}
@@ -0,0 +1,30 @@
+package com.rest1.global.apiKeyBloomFilter;
+
+import java.util.UUID;
+
+// API 키 형식: 무작위 UUID + "-" + 발급 시각(epoch 밀리초, 16진수)
+// 블룸 필터가 키를 마지막으로 채운 뒤에 발급된 키인지 DB 조회 없이 알 수 있게 발급 시각을 같이 넣는다.
+public final class ApiKeys {
+
+    private static final int UUID_LENGTH = 36;
+
+    private ApiKeys() {
+    }
+
+    public static String generate() {
+        return "%s-%x".formatted(UUID.randomUUID(), System.currentTimeMillis());
+    }
+
+    // 발급 시각이 없는 예전 형식의 키는 -1
+    public static long issuedAtMillis(String apiKey) {
+        if (apiKey.length() <= UUID_LENGTH + 1 || apiKey.charAt(UUID_LENGTH) != '-') {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(apiKey, UUID_LENGTH + 1, apiKey.length(), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.rest1.global.etag;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 응답에 담길 행들의 (id, 수정 시각, ...) 만으로 만드는 강한 ETag 와 Last-Modified
+// 본문을 만들지 않고도 바뀌었는지 알 수 있도록 버전 컬럼만 조회해서 넣는다.
+public class ETag {
+
+    private long hash = 0xCBF29CE484222325L;
+    private int count;
+    private LocalDateTime lastModified;
+
+    public ETag add(long value) {
+        // FNV-1a 를 8바이트 단위로
+        hash = (hash ^ value) * 0x100000001B3L;
+        hash ^= hash >>> 29;
+        count++;
+
+        return this;
+    }
+
+    public ETag add(LocalDateTime time) {
+        if (time == null) {
+            return add(0L);
+        }
+
+        if (lastModified == null || time.isAfter(lastModified)) {
+            lastModified = time;
+        }
+
+        return add(time.toLocalDate().toEpochDay() * 86_400_000_000_000L + time.toLocalTime().toNanoOfDay());
+    }
+
+    public ETag add(String value) {
+        return add(value == null ? 0L : value.hashCode());
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public String value() {
+        return "\"%s-%x\"".formatted(Integer.toString(count, 36), hash);
+    }
+
+    // 없으면 -1, WebRequest.checkNotModified 가 무시한다.
+    public long lastModifiedMillis() {
+        if (lastModified == null) {
+            return -1;
+        }
+
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // 304 로 응답해야 하면 true, 아니면 ETag, Last-Modified 헤더만 설정한다.
+    public boolean checkNotModified(WebRequest webRequest) {
+        return webRequest.checkNotModified(value(), lastModifiedMillis());
+    }
+
+    // 목록용, ETag 만 설정하고 비교한다.
+    // 목록에서 행이 지워져도 남은 행들의 가장 늦은 수정 시각은 그대로라서 Last-Modified 로는 바뀐 것을 알 수 없다.
+    public boolean checkNoneMatch(WebRequest webRequest) {
+        return webRequest.checkNotModified(value());
+    }
+
+    public static boolean hasIfNoneMatch(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    // 클라이언트가 이전 응답의 ETag, Last-Modified 를 보냈을 때만 미리 버전을 확인할 가치가 있다.
+    public static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.rest1.global.exception;
+
+import com.rest1.global.rsData.RsData;
+
+// Optional.get() 의 NoSuchElementException 대신 조회 결과가 없을 때 던진다.
+public class NotFoundException extends ServiceException {
+
+    public static final RsData<Void> RS_DATA = new RsData<>("404-1", "존재하지 않는 데이터입니다.");
+
+    public NotFoundException() {
+        super(RS_DATA);
+    }
+}
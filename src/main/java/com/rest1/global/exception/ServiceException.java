@@ -1,21 +1,37 @@
 package com.rest1.global.exception;
 
+import com.rest1.global.rsData.RsData;
+
+// 권한 없음, 없는 데이터처럼 예상된 실패라서 스택을 남기지 않는다.
+// 응답 본문(RsData)을 들고 다니므로 resultCode, msg 가 고정이면 상수를 넘겨서 요청마다 새로 만들지 않는다.
 public class ServiceException extends RuntimeException {
 
-    private String resultCode;
-    private String msg;
+    private final RsData<Void> rsData;
+
+    public ServiceException(RsData<Void> rsData) {
+        super(null, null, false, false);
+        this.rsData = rsData;
+    }
 
     public ServiceException(String resultCode, String msg) {
-        super("%s : %s".formatted(resultCode, msg));
-        this.resultCode = resultCode;
-        this.msg = msg;
+        this(new RsData<>(resultCode, msg));
+    }
+
+    // 로그에 찍힐 때만 만든다.
+    @Override
+    public String getMessage() {
+        return "%s : %s".formatted(rsData.getResultCode(), rsData.getMsg());
+    }
+
+    public RsData<Void> getRsData() {
+        return rsData;
     }
 
     public String getResultCode() {
-        return resultCode;
+        return rsData.getResultCode();
     }
 
     public String getMsg() {
-        return msg;
+        return rsData.getMsg();
     }
 }
@@ -1,7 +1,10 @@
 package com.rest1.global.globalExceptionHandler;
 
+import com.rest1.global.exception.NotFoundException;
 import com.rest1.global.exception.ServiceException;
 import com.rest1.global.rsData.RsData;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,13 +19,20 @@ import java.util.stream.Collectors;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // 내용이 고정된 응답은 미리 만들어두고 같이 쓴다.
+    private static final RsData<Void> NOT_READABLE = new RsData<>(
+            "400-2",
+            "잘못된 형식의 요청 데이터입니다."
+    );
+    private static final RsData<Void> OPTIMISTIC_LOCK_CONFLICT = new RsData<>(
+            "409-2",
+            "다른 요청이 먼저 수정했습니다. 최신 내용을 다시 불러온 뒤 수정해주세요."
+    );
+
     @ExceptionHandler(NoSuchElementException.class)
     @ResponseBody
     public RsData<Void> handleException(NoSuchElementException e){
-        return new RsData<Void>(
-                "404-1",
-                "존재하지 않는 데이터입니다."
-        );
+        return NotFoundException.RS_DATA;
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -46,19 +56,20 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpMessageNotReadableException.class)
     @ResponseBody
     public RsData<Void> handleException(HttpMessageNotReadableException e) {
-        return new RsData<Void>(
-                "400-2",
-                "잘못된 형식의 요청 데이터입니다."
-        );
+        return NOT_READABLE;
+    }
+
+    // 다른 요청이 먼저 수정해서 버전이 맞지 않는 경우, 다시 시도하지 않고 클라이언트가 최신 글을 읽고 다시 수정하게 한다.
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    @ResponseBody
+    public RsData<Void> handleOptimisticLockException(Exception e) {
+        return OPTIMISTIC_LOCK_CONFLICT;
     }
 
     @ExceptionHandler(ServiceException.class)
     @ResponseBody
     public RsData<Void> handleException(ServiceException e) {
-        return new RsData<Void>(
-                e.getResultCode(),
-                e.getMsg()
-        );
+        return e.getRsData();
     }
 
 
@@ -1,6 +1,7 @@
 package com.rest1.global.initData;
 
 import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.entity.MemberRole;
 import com.rest1.domain.member.member.service.MemberService;
 import com.rest1.domain.post.post.entity.Post;
 import com.rest1.domain.post.post.service.PostService;
@@ -27,6 +28,7 @@ public class BaseInitData {
         return args -> {
 
             self.work1();
+            self.migrateAdminRole();
             self.work2();
 
         };
@@ -40,13 +42,26 @@ public class BaseInitData {
         }
 
         memberService.join("system", "system", "시스템");
-        memberService.join("admin", "admin", "운영자");
+        Member admin = memberService.join("admin", "admin", "운영자");
+        memberService.modifyRole(admin, MemberRole.ADMIN);
         memberService.join("user1", "1234", "유저1");
         memberService.join("user2", "1234", "유저2");
         memberService.join("user3", "1234", "유저3");
 
     }
 
+    // 역할 컬럼이 생기기 전의 DB 는 모든 회원이 USER 로 채워져서 관리자가 없다, 예전처럼 admin 계정을 관리자로 만든다.
+    // 관리자가 한 명이라도 있으면 이미 옮겨진 DB 이므로 건드리지 않는다. (운영자가 직접 바꾼 역할을 되돌리지 않도록)
+    @Transactional
+    public void migrateAdminRole() {
+        if (memberService.existsByRole(MemberRole.ADMIN)) {
+            return;
+        }
+
+        memberService.findByUsername("admin")
+                .ifPresent(admin -> memberService.modifyRole(admin, MemberRole.ADMIN));
+    }
+
     @Transactional
     public void work2() {
         if(postService.count() > 0) {
@@ -61,10 +76,10 @@ public class BaseInitData {
         Post post2 = postService.write(member1, "제목2", "내용2");
         Post post3 = postService.write(member2, "제목3", "내용3");
 
-        post1.addComment(member1, "댓글 1-1");
-        post1.addComment(member1, "댓글 1-2");
-        post1.addComment(member1, "댓글 1-3");
-        post2.addComment(member2, "댓글 2-1");
-        post2.addComment(member2, "댓글 2-2");
+        postService.writeComment(member1, post1, "댓글 1-1");
+        postService.writeComment(member1, post1, "댓글 1-2");
+        postService.writeComment(member1, post1, "댓글 1-3");
+        postService.writeComment(member2, post2, "댓글 2-1");
+        postService.writeComment(member2, post2, "댓글 2-2");
     }
 }
@@ -0,0 +1,64 @@
+package com.rest1.global.jpa;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// IDENTITY 로 쌓인 기존 데이터가 있는 DB 에서는 새로 만든 시퀀스가 1 부터 시작해서 id 가 겹친다.
+// 초기 데이터 생성 등 첫 insert 전에 시퀀스를 테이블의 max(id) + 1 이상으로 맞춘다. (H2)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceAligner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void align() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (
+                    persister.getGenerator() instanceof SequenceStyleGenerator generator
+                            && generator.getDatabaseStructure() instanceof SequenceStructure sequence
+                            && persister instanceof AbstractEntityPersister entityPersister
+            ) {
+                transactionTemplate.executeWithoutResult(status -> align(
+                        sequence.getPhysicalName().render(),
+                        entityPersister.getTableName(),
+                        entityPersister.getIdentifierColumnNames()[0]
+                ));
+            }
+        });
+    }
+
+    private void align(String sequenceName, String tableName, String idColumnName) {
+        Long nextValue = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where lower(sequence_name) = lower(?)",
+                Long.class,
+                sequenceName
+        );
+        Long maxId = jdbcTemplate.queryForObject(
+                "select max(%s) from %s".formatted(idColumnName, tableName),
+                Long.class
+        );
+
+        if (nextValue == null || maxId == null || nextValue > maxId) {
+            return;
+        }
+
+        jdbcTemplate.execute("alter sequence %s restart with %d".formatted(sequenceName, maxId + 1));
+
+        log.info("{} 시퀀스를 {} 에서 {} 로 맞췄습니다.", sequenceName, nextValue, maxId + 1);
+    }
+}
@@ -2,9 +2,12 @@ package com.rest1.global.jpa.entity;
 
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,11 +16,14 @@ import java.time.LocalDateTime;
 
 @MappedSuperclass
 @Getter
+@Setter(AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity {
 
+    // 엔티티마다 {엔티티}_seq 시퀀스에서 50개씩 미리 받아 쓴다. (pooled-lo)
+    // IDENTITY 와 달리 insert 전에 id 를 알 수 있어서 insert 를 JDBC 배치로 묶을 수 있다.
     @Id
-    @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @CreatedDate
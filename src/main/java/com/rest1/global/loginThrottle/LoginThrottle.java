@@ -0,0 +1,112 @@
+package com.rest1.global.loginThrottle;
+
+import com.rest1.global.exception.ServiceException;
+import com.rest1.global.rsData.RsData;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 로그인 실패 횟수 제한
+// 아이디, 접속 주소를 해시해서 고정 크기 배열(stripe)의 칸에 대응시키고, 칸마다 GCRA 토큰 버킷 상태(다음 허용 시각) 하나만 CAS 로 갱신한다.
+// 메모리는 stripe 수만큼으로 고정이고, 오래된 항목은 시간이 지나면 저절로 비워진 상태가 되므로 따로 지울 필요가 없다.
+@Component
+public class LoginThrottle implements MeterBinder {
+
+    private static final RsData<Void> TOO_MANY_ATTEMPTS = new RsData<>("429-1", "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+
+    private static final int USERNAME_SEED = 0x9E3779B9;
+    private static final int ADDRESS_SEED = 0x85EBCA6B;
+
+    private final AtomicLongArray usernameStripes;
+    private final AtomicLongArray addressStripes;
+    private final int mask;
+    private final long usernameIntervalNanos;
+    private final long usernameToleranceNanos;
+    private final long addressIntervalNanos;
+    private final long addressToleranceNanos;
+    private final long baseNanos = System.nanoTime();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public LoginThrottle(
+            @Value("${custom.loginThrottle.stripes:65536}") int stripes,
+            @Value("${custom.loginThrottle.periodSeconds:60}") long periodSeconds,
+            @Value("${custom.loginThrottle.usernameBurst:5}") int usernameBurst,
+            @Value("${custom.loginThrottle.addressBurst:20}") int addressBurst
+    ) {
+        int size = Integer.highestOneBit(Math.max(stripes, 2) - 1) << 1;
+        long periodNanos = TimeUnit.SECONDS.toNanos(periodSeconds);
+
+        this.usernameStripes = new AtomicLongArray(size);
+        this.addressStripes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.usernameIntervalNanos = periodNanos / usernameBurst;
+        this.usernameToleranceNanos = usernameIntervalNanos * (usernameBurst - 1);
+        this.addressIntervalNanos = periodNanos / addressBurst;
+        this.addressToleranceNanos = addressIntervalNanos * (addressBurst - 1);
+    }
+
+    public void check(String username, String address) {
+        long now = now();
+
+        if (
+                isOverLimit(usernameStripes, index(username, USERNAME_SEED), now, usernameToleranceNanos)
+                        || isOverLimit(addressStripes, index(address, ADDRESS_SEED), now, addressToleranceNanos)
+        ) {
+            rejectedCount.increment();
+            throw new ServiceException(TOO_MANY_ATTEMPTS);
+        }
+    }
+
+    public void onFailure(String username, String address) {
+        long now = now();
+
+        consume(usernameStripes, index(username, USERNAME_SEED), now, usernameIntervalNanos);
+        consume(addressStripes, index(address, ADDRESS_SEED), now, addressIntervalNanos);
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("loginThrottle.rejected", rejectedCount, LongAdder::sum)
+                .register(registry);
+    }
+
+    private boolean isOverLimit(AtomicLongArray stripes, int index, long now, long toleranceNanos) {
+        return stripes.get(index) - now > toleranceNanos;
+    }
+
+    private void consume(AtomicLongArray stripes, int index, long now, long intervalNanos) {
+        while (true) {
+            long tat = stripes.get(index);
+            long newTat = Math.max(tat, now) + intervalNanos;
+
+            if (stripes.compareAndSet(index, tat, newTat)) {
+                return;
+            }
+        }
+    }
+
+    private int index(String key, int seed) {
+        int h = (key == null ? 0 : key.hashCode()) ^ seed;
+        h ^= h >>> 16;
+        h *= 0x7FEB352D;
+        h ^= h >>> 15;
+
+        return h & mask;
+    }
+
+    // 0 은 "비어 있음" 을 뜻하므로 항상 양수가 되도록 기준 시각을 뺀다.
+    private long now() {
+        return System.nanoTime() - baseNanos + 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.rest1.global.metrics;
+
+import com.rest1.global.rsData.RsDataStatusAdvice;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+// http.server.requests 에 응답한 RsData 의 resultCode 태그를 붙인다, RsData 가 아닌 응답은 none
+@Component
+public class ResultCodeObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final KeyValue RESULT_CODE_NONE = KeyValue.of("resultCode", "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(resultCode(context));
+    }
+
+    private KeyValue resultCode(ServerRequestObservationContext context) {
+        Object resultCode = context.getCarrier().getAttribute(RsDataStatusAdvice.RESULT_CODE_ATTRIBUTE);
+
+        return resultCode == null ? RESULT_CODE_NONE : KeyValue.of("resultCode", resultCode.toString());
+    }
+}
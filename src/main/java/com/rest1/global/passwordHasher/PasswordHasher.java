@@ -0,0 +1,195 @@
+package com.rest1.global.passwordHasher;
+
+import com.rest1.global.exception.ServiceException;
+import com.rest1.global.rsData.RsData;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// 비밀번호 해시/검증은 CPU 를 많이 쓰므로 요청 스레드가 아닌 전용 풀에서 수행한다.
+// 풀과 대기열이 가득 차면 503 으로 거절해서 다른 요청이 굶지 않게 한다.
+@Component
+public class PasswordHasher implements MeterBinder {
+
+    private static final RsData<Void> OVERLOADED = new RsData<>("503-1", "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder queueWaitCount = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public PasswordHasher(
+            @Value("${custom.passwordHasher.strength:10}") int strength,
+            @Value("${custom.passwordHasher.threads:2}") int threads,
+            @Value("${custom.passwordHasher.queueCapacity:100}") int queueCapacity,
+            @Value("${custom.passwordHasher.timeoutMillis:3000}") long timeoutMillis
+    ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public String encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        // 해시 도입 전에 평문으로 저장된 비밀번호
+        if (!isHashed(encodedPassword)) {
+            return MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8),
+                    encodedPassword.getBytes(StandardCharsets.UTF_8)
+            );
+        }
+
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return !isHashed(encodedPassword) || encoder.upgradeEncoding(encodedPassword);
+    }
+
+    private boolean isHashed(String encodedPassword) {
+        return encodedPassword.startsWith("$2");
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        long submitNanos = System.nanoTime();
+
+        try {
+            future = executor.submit(() -> {
+                long startNanos = System.nanoTime();
+                queueWaitCount.increment();
+                queueWaitNanos.add(startNanos - submitNanos);
+                maxQueueWaitNanos.accumulate(startNanos - submitNanos);
+
+                try {
+                    return task.call();
+                } finally {
+                    long elapsedNanos = System.nanoTime() - startNanos;
+                    hashCount.increment();
+                    hashNanos.add(elapsedNanos);
+                    maxHashNanos.accumulate(elapsedNanos);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new ServiceException(OVERLOADED);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.increment();
+            throw new ServiceException(OVERLOADED);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public long getHashCount() {
+        return hashCount.sum();
+    }
+
+    public long getHashNanos() {
+        return hashNanos.sum();
+    }
+
+    public long getMaxHashNanos() {
+        return maxHashNanos.get();
+    }
+
+    public long getQueueWaitCount() {
+        return queueWaitCount.sum();
+    }
+
+    public long getQueueWaitNanos() {
+        return queueWaitNanos.sum();
+    }
+
+    public long getMaxQueueWaitNanos() {
+        return maxQueueWaitNanos.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    // passwordHasher.hash, passwordHasher.queueWait 는 횟수와 누적 시간, max 는 기동 후 최댓값
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("passwordHasher.hash", this, PasswordHasher::getHashCount, PasswordHasher::getHashNanos, TimeUnit.NANOSECONDS)
+                .register(registry);
+        Gauge.builder("passwordHasher.hash.max", this, hasher -> hasher.getMaxHashNanos() / 1e9)
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionTimer.builder("passwordHasher.queueWait", this, PasswordHasher::getQueueWaitCount, PasswordHasher::getQueueWaitNanos, TimeUnit.NANOSECONDS)
+                .register(registry);
+        Gauge.builder("passwordHasher.queueWait.max", this, hasher -> hasher.getMaxQueueWaitNanos() / 1e9)
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("passwordHasher.rejected", this, PasswordHasher::getRejectedCount)
+                .register(registry);
+        Gauge.builder("passwordHasher.queueSize", this, PasswordHasher::getQueueSize)
+                .register(registry);
+        Gauge.builder("passwordHasher.active", this, PasswordHasher::getActiveCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,36 @@
+package com.rest1.global.queryCount;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+// 애플리케이션이 쓰는 dataSource 빈을 QueryCountDataSource 로 감싼다.
+@Configuration
+public class QueryCountConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountPostProcessor() {
+        return new QueryCountPostProcessor();
+    }
+
+    // 연결 수 제한(ConnectionPermitDataSource) 등 다른 감싸기보다 나중에, 가장 바깥에서 감싼다.
+    static class QueryCountPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                return new QueryCountDataSource(dataSource);
+            }
+
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.rest1.global.queryCount;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// JDBC 문장을 실행(execute*)할 때마다 현재 요청의 QueryCounter 에 센다.
+// 준비(prepare)가 아니라 실행을 세므로 JDBC 배치는 executeBatch 한 번(DB 왕복 한 번)을 한 번으로 센다. (배치 크기 50 으로 120건을 넣으면 insert 3번)
+// 요청 밖(스케줄러, 내보내기 스트리밍 스레드 등)에서 실행된 SQL 은 세지 않는다.
+public class QueryCountDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    public QueryCountDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    // 트랜잭션 시작 때 가져온 연결도 세야 하므로 연결은 항상 감싸고, 문장은 세는 중에 준비한 것만 감싼다.
+    private Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "getTargetConnection" -> target;
+                    default -> {
+                        Object result = invoke(target, method, args);
+
+                        if (result instanceof Statement statement && CURRENT.get() != null) {
+                            yield Proxy.newProxyInstance(
+                                    ConnectionProxy.class.getClassLoader(),
+                                    new Class<?>[]{method.getReturnType()},
+                                    new CountingStatement(statement, args != null && args.length > 0 && args[0] instanceof String sql ? sql : null)
+                            );
+                        }
+
+                        yield result;
+                    }
+                }
+        );
+    }
+
+    // prepareStatement(sql) 는 준비할 때, createStatement() 는 execute(sql), addBatch(sql) 에서 SQL 을 알 수 있다.
+    private static class CountingStatement implements InvocationHandler {
+
+        private final Statement target;
+        private String sql;
+
+        CountingStatement(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "addBatch":
+                    if (args != null && args.length == 1 && args[0] instanceof String batchSql) {
+                        sql = batchSql;
+                    }
+                    break;
+                default:
+                    if (name.startsWith("execute")) {
+                        count(args != null && args.length > 0 && args[0] instanceof String executedSql ? executedSql : sql);
+                    }
+            }
+
+            return QueryCountDataSource.invoke(target, method, args);
+        }
+    }
+
+    private static void count(String sql) {
+        QueryCounter counter = CURRENT.get();
+
+        if (counter != null && sql != null) {
+            counter.add(sql);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // 바깥 QueryCounter 가 있으면 이어서 센다.
+    static QueryCounter start() {
+        QueryCounter counter = new QueryCounter(CURRENT.get());
+        CURRENT.set(counter);
+
+        return counter;
+    }
+
+    static void stop(QueryCounter counter) {
+        if (counter.getParent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(counter.getParent());
+        }
+    }
+}
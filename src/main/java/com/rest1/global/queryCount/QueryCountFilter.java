@@ -0,0 +1,107 @@
+package com.rest1.global.queryCount;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 요청마다 실행한 SQL 수를 엔드포인트별 분포(http.server.requests.queries)로 남기고,
+// 예산을 넘으면 많이 실행된 쿼리 지문과 함께 경고를 남긴다. 같은 쿼리가 여러 번 찍히면 N+1 을 의심한다.
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxQueries;
+    private final int logFingerprints;
+
+    public QueryCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${custom.queryBudget.enabled:true}") boolean enabled,
+            @Value("${custom.queryBudget.maxQueries:10}") int maxQueries,
+            @Value("${custom.queryBudget.logFingerprints:5}") int logFingerprints
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxQueries = maxQueries;
+        this.logFingerprints = logFingerprints;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryCounter counter = QueryCountDataSource.start();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountDataSource.stop(counter);
+            record(request, counter);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounter counter) {
+        String method = request.getMethod();
+        String uri = uri(request);
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("요청 하나에서 실행한 SQL 수, JDBC 배치는 executeBatch 한 번을 한 번으로 센다")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counter.getCount());
+
+        if (counter.getCount() <= maxQueries) {
+            return;
+        }
+
+        Counter.builder("http.server.requests.queries.overBudget")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+
+        log.warn(
+                "{} {} 에서 쿼리를 {}번 실행했습니다. (예산 {}번)\n{}",
+                method,
+                uri,
+                counter.getCount(),
+                maxQueries,
+                counter.topFingerprints(logFingerprints).stream()
+                        .map(this::format)
+                        .collect(Collectors.joining("\n"))
+        );
+    }
+
+    private String format(Map.Entry<String, Integer> fingerprint) {
+        return "\t%d x %s".formatted(fingerprint.getValue(), fingerprint.getKey());
+    }
+
+    // 태그 값이 끝없이 늘지 않도록 매핑된 경로 패턴만 쓴다.
+    private String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
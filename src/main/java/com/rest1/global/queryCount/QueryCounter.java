@@ -0,0 +1,135 @@
+package com.rest1.global.queryCount;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// 한 요청에서 실행한 SQL 수(JDBC 실행 단위)와 문장별 횟수
+// 요청 스레드 하나에서만 쓰므로 동기화하지 않는다.
+// 바깥에서 세고 있던 QueryCounter 가 있으면 같이 센다. (테스트가 요청 하나를 통째로 셀 때)
+public class QueryCounter {
+
+    public enum Type {
+        SELECT,
+        INSERT,
+        UPDATE,
+        DELETE,
+        OTHER
+    }
+
+    // 문장 종류가 끝없이 늘어도 메모리가 묶이도록
+    private static final int MAX_STATEMENTS = 100;
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final QueryCounter parent;
+    private int count;
+    private final int[] typeCounts = new int[Type.values().length];
+    // Hibernate 는 같은 쿼리에 같은 SQL 문자열을 쓰므로 실행할 때는 그대로 세고, 지문은 로그를 남길 때만 만든다.
+    private final Map<String, Integer> statements = new HashMap<>();
+
+    QueryCounter(QueryCounter parent) {
+        this.parent = parent;
+    }
+
+    void add(String sql) {
+        count++;
+        typeCounts[type(sql).ordinal()]++;
+
+        if (statements.size() < MAX_STATEMENTS || statements.containsKey(sql)) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+
+        if (parent != null) {
+            parent.add(sql);
+        }
+    }
+
+    QueryCounter getParent() {
+        return parent;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCount(Type type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    // 지문이 같은 문장끼리 합쳐서 많이 실행된 순서로
+    public List<Map.Entry<String, Integer>> topFingerprints(int limit) {
+        return statements.entrySet().stream()
+                .collect(Collectors.groupingBy(
+                        entry -> fingerprint(entry.getKey()),
+                        Collectors.summingInt(Map.Entry::getValue)
+                ))
+                .entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    // 앞의 주석(use_sql_comments)을 건너뛴 첫 단어로 구분한다.
+    static Type type(String sql) {
+        int i = 0;
+
+        while (true) {
+            while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+                i++;
+            }
+
+            if (!sql.startsWith("/*", i)) {
+                break;
+            }
+
+            int end = sql.indexOf("*/", i + 2);
+
+            if (end < 0) {
+                return Type.OTHER;
+            }
+
+            i = end + 2;
+        }
+
+        if (startsWith(sql, i, "select") || startsWith(sql, i, "with")) {
+            return Type.SELECT;
+        }
+
+        if (startsWith(sql, i, "insert")) {
+            return Type.INSERT;
+        }
+
+        if (startsWith(sql, i, "update")) {
+            return Type.UPDATE;
+        }
+
+        if (startsWith(sql, i, "delete")) {
+            return Type.DELETE;
+        }
+
+        return Type.OTHER;
+    }
+
+    private static boolean startsWith(String sql, int offset, String keyword) {
+        return sql.regionMatches(true, offset, keyword, 0, keyword.length());
+    }
+
+    // 주석, 값, IN 목록 길이를 지워서 같은 모양의 쿼리를 하나로 묶는다.
+    static String fingerprint(String sql) {
+        String fingerprint = COMMENT.matcher(sql).replaceAll(" ");
+        fingerprint = STRING_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("(?+)");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ");
+
+        return fingerprint.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,92 @@
+package com.rest1.global.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+// 요청을 주 DB 에 고정할지 정한다.
+// 쓰기 요청(GET/HEAD 외)은 항상, 읽기 요청은 같은 인증 정보로 최근에 쓰기 요청을 보낸 경우에만 주 DB 에서 읽어서 복제 지연 때문에 자기가 쓴 내용이 안 보이는 일을 막는다.
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final String PINNED_TO_PRIMARY = ReadYourWritesInterceptor.class.getName() + ".PINNED_TO_PRIMARY";
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(
+            @Value("${custom.replica.enabled:false}") boolean enabled,
+            @Value("${custom.replica.readYourWritesSeconds:5}") long readYourWritesSeconds,
+            @Value("${custom.replica.maximumWriters:100000}") long maximumWriters
+    ) {
+        this.enabled = enabled;
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumWriters)
+                .expireAfterWrite(Duration.ofSeconds(readYourWritesSeconds))
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+
+        String writer = writer(request);
+
+        if (!isRead(request.getMethod())) {
+            request.setAttribute(PINNED_TO_PRIMARY, true);
+
+            // 응답을 받자마자 보낸 읽기 요청도 주 DB 로 가도록 처리 전에 기록한다.
+            if (writer != null) {
+                recentWriters.put(writer, true);
+            }
+        } else if (writer != null && recentWriters.getIfPresent(writer) != null) {
+            request.setAttribute(PINNED_TO_PRIMARY, true);
+        }
+
+        return true;
+    }
+
+    // 요청 스레드가 아니면(스케줄러 등) 고정하지 않는다.
+    public static boolean isPinnedToPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        return attributes != null
+                && attributes.getAttribute(PINNED_TO_PRIMARY, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    // 이번 요청의 이후 연결을 주 DB 에서 가져온다, 이미 가져온 연결은 바뀌지 않는다.
+    public static void pinToPrimary() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes != null) {
+            attributes.setAttribute(PINNED_TO_PRIMARY, true, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    // Bearer {apiKey} {accessToken} 에서 앞부분, 검증하지 않고 주 DB 로 보낼지 정하는 데만 쓴다.
+    private String writer(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+
+        String credential = authorization.substring("Bearer ".length()).split(" ", 2)[0];
+
+        return credential.isEmpty() ? null : credential;
+    }
+}
@@ -0,0 +1,137 @@
+package com.rest1.global.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// 읽기 전용 트랜잭션의 연결을 복제본 중 하나에서 가져온다.
+// 요청이 주 DB 에 고정되어 있거나 복제본 연결에 실패하면 주 DB 연결을 돌려준다.
+// 연결은 풀마다 gate 를 거쳐서 가져온다. (가상 스레드를 쓸 때 풀마다 따로 연결 수 제한)
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        // 사용 중인 연결이 가장 적은 복제본
+        LEAST_BUSY
+    }
+
+    private record Replica(
+            HikariDataSource pool,
+            DataSource connections
+    ) {
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Strategy strategy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaCount = new LongAdder();
+    private final LongAdder pinnedCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+
+    public ReplicaDataSource(
+            HikariDataSource primary,
+            List<HikariDataSource> replicas,
+            Strategy strategy,
+            Function<HikariDataSource, DataSource> gate
+    ) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("복제본이 하나 이상 있어야 합니다.");
+        }
+
+        this.primary = gate.apply(primary);
+        this.replicas = replicas.stream()
+                .map(replica -> new Replica(replica, gate.apply(replica)))
+                .toList();
+        this.strategy = strategy;
+    }
+
+    // 쓰기 트랜잭션도 같은 제한을 받도록 LazyConnectionDataSourceProxy 의 대상으로 쓴다.
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWritesInterceptor.isPinnedToPrimary()) {
+            pinnedCount.increment();
+            return primary.getConnection();
+        }
+
+        Replica replica = choose();
+
+        try {
+            Connection connection = replica.connections().getConnection();
+            replicaCount.increment();
+
+            return connection;
+        } catch (SQLException e) {
+            fallbackCount.increment();
+            log.warn("복제본 {} 에 연결하지 못해서 주 DB 에서 읽습니다.", replica.pool().getPoolName(), e);
+
+            return primary.getConnection();
+        }
+    }
+
+    // 복제본은 주 DB 와 같은 계정을 쓰므로 다른 계정으로 연결하는 경우는 지원하지 않는다.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ReplicaDataSource 는 계정을 지정한 연결을 지원하지 않습니다.");
+    }
+
+    private Replica choose() {
+        if (strategy == Strategy.LEAST_BUSY) {
+            Replica leastBusy = replicas.getFirst();
+            int leastActive = Integer.MAX_VALUE;
+
+            for (Replica replica : replicas) {
+                int active = activeConnections(replica.pool());
+
+                if (active < leastActive) {
+                    leastBusy = replica;
+                    leastActive = active;
+                }
+            }
+
+            return leastBusy;
+        }
+
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    // 아직 연결을 한 번도 가져가지 않은 풀은 MXBean 이 없다.
+    private int activeConnections(HikariDataSource replica) {
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool().close());
+    }
+
+    public long getReplicaCount() {
+        return replicaCount.sum();
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+}
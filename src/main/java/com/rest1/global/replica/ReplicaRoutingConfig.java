@@ -0,0 +1,76 @@
+package com.rest1.global.replica;
+
+import com.rest1.global.virtualThreads.ConnectionPermits;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// custom.replica.enabled 일 때 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 복제본으로, 나머지는 주 DB 로 보낸다.
+// LazyConnectionDataSourceProxy 는 첫 쿼리 시점에 실제 연결을 가져오므로, 그때는 트랜잭션의 readOnly 여부가 이미 정해져 있다.
+@Configuration
+@ConditionalOnProperty(name = "custom.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+
+        return dataSource;
+    }
+
+    // 복제본은 주소만 다르고 계정, 풀 설정은 주 DB 와 같다.
+    // 가상 스레드를 쓰면 주 DB, 복제본 풀마다 따로 연결 수를 제한한다. (복제본 읽기가 주 DB 허가를 쓰지 않게)
+    @Bean
+    public ReplicaDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${custom.replica.urls}") List<String> urls,
+            @Value("${custom.replica.strategy:round-robin}") String strategy,
+            ObjectProvider<ConnectionPermits> connectionPermitsProvider
+    ) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+
+            replicas.add(replica);
+        }
+
+        ConnectionPermits connectionPermits = connectionPermitsProvider.getIfAvailable();
+
+        return new ReplicaDataSource(
+                primaryDataSource,
+                replicas,
+                ReplicaDataSource.Strategy.valueOf(strategy.toUpperCase(Locale.ROOT).replace('-', '_')),
+                connectionPermits == null ? pool -> pool : connectionPermits::wrap
+        );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaDataSource.getPrimary());
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+
+        return dataSource;
+    }
+}
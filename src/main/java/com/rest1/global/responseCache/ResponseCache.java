@@ -0,0 +1,182 @@
+package com.rest1.global.responseCache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rest1.global.etag.ETag;
+import com.rest1.global.replica.ReadYourWritesInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 직렬화가 끝난 JSON 응답 바이트 캐시
+// 키에 글 번호(scopeId)별 세대(generation)를 넣고, 무효화는 세대만 올린다.
+// 예전 세대의 항목은 더 이상 조회되지 않다가 용량 제한으로 밀려난다.
+// 세대를 올리기 전에 읽기 시작한 요청이 예전 내용을 넣더라도 예전 세대 키에 들어가므로 새 요청에 보이지 않는다.
+// 복제본이 커밋 후 세대를 올린 뒤에도 예전 내용을 돌려줄 수 있으므로, 캐시에 없으면 그 요청은 주 DB 에서 읽는다. (복제본 라우팅을 켠 경우)
+// 연결은 첫 쿼리 때 가져오므로, getIfPresent 가 null 을 돌려준 뒤에 하는 조건부 요청의 버전 조회도 주 DB 에서 읽는다.
+@Component
+public class ResponseCache implements MeterBinder {
+
+    public record Entry(
+            byte[] body,
+            String eTag,
+            long lastModifiedMillis
+    ) {
+        // 바이트를 그대로 출력 스트림에 쓴다.
+        public ResponseEntity<byte[]> toResponseEntity() {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
+    }
+
+    record Key(
+            long scopeId,
+            long generation,
+            String path
+    ) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+    // 항목이 밀려나도 예전 번호를 다시 쓰지 않도록 전역 카운터에서 새 번호를 받는다.
+    private final Cache<Long, Long> generations;
+    private final AtomicLong generationSequence = new AtomicLong();
+
+    public ResponseCache(
+            ObjectMapper objectMapper,
+            @Value("${custom.responseCache.enabled:true}") boolean enabled,
+            @Value("${custom.responseCache.maximumBytes:67108864}") long maximumBytes,
+            @Value("${custom.responseCache.maximumScopes:100000}") long maximumScopes
+    ) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Key key, Entry entry) -> entry.body().length + key.path().length() * 2 + 64)
+                .recordStats()
+                .build();
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maximumScopes)
+                .build();
+    }
+
+    public Entry getIfPresent(long scopeId, String path) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry = cache.getIfPresent(new Key(scopeId, generation(scopeId), path));
+
+        if (entry == null) {
+            ReadYourWritesInterceptor.pinToPrimary();
+        }
+
+        return entry;
+    }
+
+    // 없으면 loader 로 본문을 만들어 직렬화한 뒤 넣는다, loader 가 던진 예외는 그대로 전파되고 캐시되지 않는다.
+    public <T> Entry get(long scopeId, String path, Supplier<T> loader, Function<T, ETag> eTagOf) {
+        if (!enabled) {
+            return load(loader, eTagOf);
+        }
+
+        Key key = new Key(scopeId, generation(scopeId), path);
+
+        return cache.get(key, k -> {
+            ReadYourWritesInterceptor.pinToPrimary();
+            return load(loader, eTagOf);
+        });
+    }
+
+    private <T> Entry load(Supplier<T> loader, Function<T, ETag> eTagOf) {
+        T body = loader.get();
+        ETag eTag = eTagOf.apply(body);
+
+        try {
+            return new Entry(objectMapper.writeValueAsBytes(body), eTag.value(), eTag.lastModifiedMillis());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long generation(long scopeId) {
+        return generations.get(scopeId, id -> generationSequence.incrementAndGet());
+    }
+
+    public void invalidate(long scopeId) {
+        if (!enabled) {
+            return;
+        }
+
+        generations.put(scopeId, generationSequence.incrementAndGet());
+
+        // 커밋 전에 다른 요청이 예전 내용을 새 세대로 넣을 수 있으므로 커밋 후에 한 번 더 올린다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generations.put(scopeId, generationSequence.incrementAndGet());
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+
+        generations.invalidateAll();
+        cache.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generations.invalidateAll();
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long weightedSize() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // cache.gets{result=hit|miss}, cache.evictions, cache.size 등과 사용 중인 바이트 수
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "responseCache");
+
+        Gauge.builder("responseCache.weightedSize", this, ResponseCache::weightedSize)
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("responseCache.hitRatio", this, responseCache -> responseCache.stats().hitRate())
+                .register(registry);
+    }
+}
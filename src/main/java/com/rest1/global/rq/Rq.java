@@ -1,19 +1,29 @@
 package com.rest1.global.rq;
 
 import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.service.AuthTokenService;
 import com.rest1.domain.member.member.service.MemberService;
 import com.rest1.global.exception.ServiceException;
+import com.rest1.global.rsData.RsData;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 public class Rq {
 
+    private static final RsData<Void> MISSING_AUTHORIZATION = new RsData<>("401-1", "헤더에 인증 정보가 없습니다.");
+    private static final RsData<Void> MALFORMED_AUTHORIZATION = new RsData<>("401-2", "헤더의 인증 정보 형식이 올바르지 않습니다.");
+    private static final RsData<Void> INVALID_API_KEY = new RsData<>("401-3", "API 키가 올바르지 않습니다.");
+    private static final RsData<Void> INVALID_ACCESS_TOKEN = new RsData<>("401-4", "액세스 토큰이 유효하지 않습니다.");
+
     private final MemberService memberService;
+    private final AuthTokenService authTokenService;
     private final HttpServletRequest request;
     private final HttpServletResponse response;
 
@@ -22,19 +32,42 @@ public class Rq {
         String authorization = request.getHeader("Authorization");
 
         if (authorization == null || authorization.isEmpty()) {
-            throw new ServiceException("401-1", "헤더에 인증 정보가 없습니다.");
+            throw new ServiceException(MISSING_AUTHORIZATION);
         }
 
         if (!authorization.startsWith("Bearer ")) {
-            throw new ServiceException("401-2", "헤더의 인증 정보 형식이 올바르지 않습니다.");
+            throw new ServiceException(MALFORMED_AUTHORIZATION);
         }
 
-        Member actor = memberService.findByApiKey(authorization.replace("Bearer ", ""))
-                .orElseThrow(() -> new ServiceException("401-3", "API 키가 올바르지 않습니다."));
+        // Bearer {apiKey} {accessToken} 또는 Bearer {apiKey} 또는 Bearer {accessToken}
+        String[] bits = authorization.substring("Bearer ".length()).split(" ", 2);
+        String apiKey = bits.length == 2 || !bits[0].contains(".") ? bits[0] : "";
+        String accessToken = bits.length == 2 ? bits[1] : bits[0].contains(".") ? bits[0] : "";
+
+        Map<String, Object> payload = authTokenService.payload(accessToken);
+
+        if (payload != null) {
+            return authTokenService.toActor(payload);
+        }
+
+        if (apiKey.isEmpty()) {
+            throw new ServiceException(INVALID_ACCESS_TOKEN);
+        }
+
+        Member actor = memberService.findActorByApiKey(apiKey)
+                .orElseThrow(() -> new ServiceException(INVALID_API_KEY));
+
+        // 토큰이 없거나 만료된 경우에만 새로 발급
+        String newAccessToken = authTokenService.genAccessToken(actor);
+        response.setHeader("Authorization", "Bearer %s %s".formatted(apiKey, newAccessToken));
 
         return actor;
     }
 
+    public String getClientAddress() {
+        return request.getRemoteAddr();
+    }
+
     public void addCookie(String name, String value) {
         response.addCookie(
                 new Cookie(name, value)
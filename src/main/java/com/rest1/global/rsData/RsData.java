@@ -1,27 +1,53 @@
 package com.rest1.global.rsData;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-@AllArgsConstructor
 @Getter
 public class RsData<T> {
 
-    private String resultCode;
-    private String msg;
-    private T data;
+    private final String resultCode;
+    private final String msg;
+    private final T data;
+    // 응답마다 resultCode 를 다시 나누지 않도록 만들 때 한 번만 읽어둔다.
+    @JsonIgnore
+    private final int statusCode;
 
-    public RsData(String resultCode, String msg) {
+    public RsData(String resultCode, String msg, T data) {
         this.resultCode = resultCode;
         this.msg = msg;
-        this.data = null;
+        this.data = data;
+        this.statusCode = parseStatusCode(resultCode);
     }
 
-    @JsonIgnore
-    public int getStatusCode() {
-        String statusCode = resultCode.split("-")[0];
-        return Integer.parseInt(statusCode);
+    public RsData(String resultCode, String msg) {
+        this(resultCode, msg, null);
+    }
+
+    // "{HTTP 상태 코드}-{세부 코드}" 형식, 예) 404-1
+    private static int parseStatusCode(String resultCode) {
+        if (resultCode == null
+                || resultCode.length() < 5
+                || resultCode.charAt(3) != '-'
+                || !isDigit(resultCode.charAt(0))
+                || !isDigit(resultCode.charAt(1))
+                || !isDigit(resultCode.charAt(2))) {
+            throw new IllegalArgumentException("resultCode 형식이 잘못되었습니다. : " + resultCode);
+        }
+
+        int statusCode = (resultCode.charAt(0) - '0') * 100
+                + (resultCode.charAt(1) - '0') * 10
+                + (resultCode.charAt(2) - '0');
+
+        if (statusCode < 100 || statusCode > 599) {
+            throw new IllegalArgumentException("resultCode 의 상태 코드가 잘못되었습니다. : " + resultCode);
+        }
+
+        return statusCode;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
 }
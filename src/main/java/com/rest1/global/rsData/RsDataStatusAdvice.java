@@ -0,0 +1,45 @@
+package com.rest1.global.rsData;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// 컨트롤러, 예외 처리기가 RsData 를 그대로 반환하면 resultCode 의 상태 코드로 응답한다.
+// ResponseEntity<RsData> 처럼 상태를 직접 정한 경우는 건드리지 않는다.
+@ControllerAdvice
+public class RsDataStatusAdvice implements ResponseBodyAdvice<Object> {
+
+    // 엔드포인트별 요청 수를 resultCode 로 나눠 세는 데 쓴다.
+    public static final String RESULT_CODE_ATTRIBUTE = RsDataStatusAdvice.class.getName() + ".RESULT_CODE";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return RsData.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (body instanceof RsData<?> rsData) {
+            response.setStatusCode(HttpStatusCode.valueOf(rsData.getStatusCode()));
+
+            if (request instanceof ServletServerHttpRequest servletRequest) {
+                servletRequest.getServletRequest().setAttribute(RESULT_CODE_ATTRIBUTE, rsData.getResultCode());
+            }
+        }
+
+        return body;
+    }
+}
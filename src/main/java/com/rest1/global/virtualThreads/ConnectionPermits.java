@@ -0,0 +1,23 @@
+package com.rest1.global.virtualThreads;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// 커넥션 풀마다 따로 연결 수 제한(ConnectionPermitDataSource)을 씌운다.
+// 주 DB, 복제본 풀이 허가를 나눠 쓰면 한쪽이 바쁠 때 다른 쪽 연결까지 기다리게 되므로 풀 하나에 세마포어 하나를 둔다.
+public class ConnectionPermits {
+
+    // 0 이면 풀 크기(maximumPoolSize)만큼
+    private final int permitsPerPool;
+    private final long timeoutMillis;
+
+    public ConnectionPermits(int permitsPerPool, long timeoutMillis) {
+        this.permitsPerPool = permitsPerPool;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public ConnectionPermitDataSource wrap(HikariDataSource pool) {
+        int permits = permitsPerPool > 0 ? permitsPerPool : pool.getMaximumPoolSize();
+
+        return new ConnectionPermitDataSource(pool, permits, timeoutMillis);
+    }
+}
@@ -0,0 +1,102 @@
+package com.rest1.global.virtualThreads;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// synchronized 블록 안에서 블로킹되면(H2, 일부 JDBC 드라이버 내부 등) 가상 스레드가 캐리어 스레드를 놓지 못한다.
+// JFR 의 jdk.VirtualThreadPinned 이벤트를 구독해서 횟수를 세고, 처음 보는 위치는 스택과 함께 로그로 남긴다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "custom.virtualThreads.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    // 위치가 계속 바뀌어도 기억하는 스택이 끝없이 늘지 않게
+    private static final int MAX_LOGGED_STACKS = 1000;
+
+    private final long thresholdMillis;
+    private final int stackDepth;
+
+    private final LongAdder pinnedCount = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final Set<String> loggedStacks = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(
+            @Value("${custom.virtualThreads.pinnedThresholdMillis:20}") long thresholdMillis,
+            @Value("${custom.virtualThreads.pinnedStackDepth:20}") int stackDepth
+    ) {
+        this.thresholdMillis = thresholdMillis;
+        this.stackDepth = stackDepth;
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(EVENT_NAME)
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+        recordingStream.onEvent(EVENT_NAME, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        Duration duration = event.getDuration();
+
+        pinnedCount.increment();
+        pinnedNanos.add(duration.toNanos());
+
+        String stack = stack(event.getStackTrace());
+
+        if (loggedStacks.size() < MAX_LOGGED_STACKS && loggedStacks.add(stack)) {
+            log.warn("가상 스레드가 캐리어 스레드에 {}ms 동안 고정되었습니다.\n{}", duration.toMillis(), stack);
+        }
+    }
+
+    private String stack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(스택 없음)";
+        }
+
+        return stackTrace.getFrames().stream()
+                .limit(stackDepth)
+                .map(this::frame)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private String frame(RecordedFrame frame) {
+        return "\tat %s.%s(line %d)".formatted(
+                frame.getMethod().getType().getName(),
+                frame.getMethod().getName(),
+                frame.getLineNumber()
+        );
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    public long getPinnedNanos() {
+        return pinnedNanos.sum();
+    }
+}
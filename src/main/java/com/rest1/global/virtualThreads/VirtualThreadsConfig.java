@@ -0,0 +1,54 @@
+package com.rest1.global.virtualThreads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// 요청 처리(Tomcat), @Async, 스케줄러를 가상 스레드로 돌리는 것은 spring.threads.virtual.enabled 가 맡고,
+// 여기서는 애플리케이션이 쓰는 커넥션 풀 앞에 연결 수 제한을 둔다.
+// 복제본 라우팅을 켜면 dataSource 는 LazyConnectionDataSourceProxy 이므로 여기서 씌우지 않고, ReplicaRoutingConfig 가 주 DB, 복제본 풀마다 따로 씌운다.
+@Configuration
+@ConditionalOnProperty(name = "custom.virtualThreads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static ConnectionPermits connectionPermits(
+            @Value("${custom.virtualThreads.connectionPermits:0}") int connectionPermits,
+            @Value("${custom.virtualThreads.connectionTimeoutMillis:${spring.datasource.hikari.connection-timeout:30000}}") long connectionTimeoutMillis
+    ) {
+        return new ConnectionPermits(connectionPermits, connectionTimeoutMillis);
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor(ConnectionPermits connectionPermits) {
+        return new ConnectionPermitPostProcessor(connectionPermits);
+    }
+
+    // 풀 크기를 읽어야 하므로 다른 감싸기(QueryCountDataSource 등)보다 먼저, 풀 바로 앞에서 감싼다.
+    static class ConnectionPermitPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ConnectionPermits connectionPermits;
+
+        ConnectionPermitPostProcessor(ConnectionPermits connectionPermits) {
+            this.connectionPermits = connectionPermits;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof HikariDataSource pool) {
+                return connectionPermits.wrap(pool);
+            }
+
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.rest1.domain.member.member.controller;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.service.AuthTokenService;
+import com.rest1.domain.member.member.service.MemberService;
+import com.rest1.global.queryCount.QueryCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 회원이 많아도 인증, 가입, 로그인의 쿼리 수가 일정한지 본다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:db_query_budget;MODE=MySQL")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class ApiV1MemberControllerQueryBudgetTest {
+
+    private static final int MEMBERS = 30;
+
+    @RegisterExtension
+    private final QueryCapture queryCapture = new QueryCapture();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    private final List<Member> members = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(memberService.join("budget%d".formatted(i), "1234", "예산%d".formatted(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("회원가입, 아이디 중복 확인 후 insert 1번")
+    void t1() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        post("/api/v1/members/join")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "username": "budgetNew",
+                                                            "password": "1234",
+                                                            "nickname": "새 회원"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isCreated())
+                )
+                // 아이디 중복 확인과 미리 받아 둔 시퀀스 값이 떨어졌을 때만 시퀀스 조회
+                .maxSelects(2)
+                .inserts(1)
+                .updates(0)
+                .deletes(0);
+    }
+
+    @Test
+    @DisplayName("회원가입, 중복된 아이디면 조회 1번")
+    void t2() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        post("/api/v1/members/join")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "username": "budget0",
+                                                            "password": "1234",
+                                                            "nickname": "새 회원"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isConflict())
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("로그인, 조회 1번")
+    void t3() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        post("/api/v1/members/login")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "username": "budget0",
+                                                            "password": "1234"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isOk())
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("로그인, 비밀번호가 틀려도 조회 1번")
+    void t4() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        post("/api/v1/members/login")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "username": "budget1",
+                                                            "password": "wrong"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isUnauthorized())
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("내 정보, API 키로 인증하면 인증에서 읽은 회원을 다시 조회하지 않는다")
+    void t5() throws Exception {
+        Member member = members.getLast();
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        get("/api/v1/members/me")
+                                                .header("Authorization", "Bearer %s".formatted(member.getApiKey()))
+                                )
+                                .andExpect(status().isOk())
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("내 정보, 액세스 토큰으로 인증하면 DB 를 조회하지 않는다")
+    void t6() throws Exception {
+        Member member = members.getLast();
+        String accessToken = authTokenService.genAccessToken(member);
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        get("/api/v1/members/me")
+                                                .header("Authorization", "Bearer %s %s".formatted(member.getApiKey(), accessToken))
+                                )
+                                .andExpect(status().isOk())
+                )
+                .selects(0)
+                .total(0);
+    }
+}
@@ -2,6 +2,7 @@ package com.rest1.domain.member.member.controller;
 
 import com.rest1.domain.member.member.entity.Member;
 import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.domain.member.member.service.AuthTokenService;
 import jakarta.servlet.http.Cookie;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.DisplayName;
@@ -33,6 +34,9 @@ public class ApiV1MemberControllerTest {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
     @Test
     @DisplayName("회원 가입")
     void t1() throws Exception {
@@ -130,6 +134,7 @@ public class ApiV1MemberControllerTest {
                 .andExpect(jsonPath("$.resultCode").value("200-1"))
                 .andExpect(jsonPath("$.msg").value("%s님 환영합니다.".formatted(username)))
                 .andExpect(jsonPath("$.data.apiKey").exists())
+                .andExpect(jsonPath("$.data.accessToken").exists())
                 .andExpect(jsonPath("$.data.memberDto.id").value(member.getId()))
                 .andExpect(jsonPath("$.data.memberDto.createDate").value(Matchers.startsWith(member.getCreateDate().toString().substring(0, 20))))
                 .andExpect(jsonPath("$.data.memberDto.modifyDate").value(Matchers.startsWith(member.getModifyDate().toString().substring(0, 20))))
@@ -177,4 +182,165 @@ public class ApiV1MemberControllerTest {
                 .andExpect(jsonPath("$.data.memberDto.name").value(member.getName()));
     }
 
+    @Test
+    @DisplayName("내 정보, 액세스 토큰만으로 인증")
+    void t5() throws Exception {
+        Member actor = memberRepository.findByUsername("user1").get();
+        String accessToken = authTokenService.genAccessToken(actor);
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/members/me")
+                                .header("Authorization", "Bearer " + accessToken)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1MemberController.class))
+                .andExpect(handler().methodName("me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"))
+                .andExpect(jsonPath("$.data.memberDto.id").value(actor.getId()))
+                .andExpect(jsonPath("$.data.memberDto.createDate").value(actor.getCreateDate().toString()))
+                .andExpect(jsonPath("$.data.memberDto.modifyDate").value(actor.getModifyDate().toString()))
+                .andExpect(jsonPath("$.data.memberDto.name").value(actor.getName()))
+                .andExpect(header().doesNotExist("Authorization"));
+    }
+
+    @Test
+    @DisplayName("내 정보, 액세스 토큰이 유효하지 않으면 API 키로 인증 후 재발급")
+    void t6() throws Exception {
+        Member actor = memberRepository.findByUsername("user1").get();
+        String accessToken = authTokenService.genAccessToken(actor);
+        String wrongAccessToken = accessToken.substring(0, accessToken.length() - 2) + "xx";
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/members/me")
+                                .header("Authorization", "Bearer %s %s".formatted(actor.getApiKey(), wrongAccessToken))
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1MemberController.class))
+                .andExpect(handler().methodName("me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.memberDto.id").value(actor.getId()))
+                .andExpect(header().string("Authorization", Matchers.startsWith("Bearer %s ".formatted(actor.getApiKey()))));
+    }
+
+    @Test
+    @DisplayName("내 정보, 유효하지 않은 액세스 토큰만 있는 경우")
+    void t7() throws Exception {
+        Member actor = memberRepository.findByUsername("user1").get();
+        String accessToken = authTokenService.genAccessToken(actor);
+        String wrongAccessToken = accessToken.substring(0, accessToken.length() - 2) + "xx";
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/members/me")
+                                .header("Authorization", "Bearer " + wrongAccessToken)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1MemberController.class))
+                .andExpect(handler().methodName("me"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.resultCode").value("401-4"))
+                .andExpect(jsonPath("$.msg").value("액세스 토큰이 유효하지 않습니다."));
+    }
+
+    @Test
+    @DisplayName("로그인, 비밀번호가 일치하지 않는 경우")
+    void t8() throws Exception {
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/members/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "username": "user1",
+                                            "password": "wrong"
+                                        }
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1MemberController.class))
+                .andExpect(handler().methodName("login"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.resultCode").value("401-2"))
+                .andExpect(jsonPath("$.msg").value("비밀번호가 일치하지 않습니다."));
+    }
+
+    @Test
+    @DisplayName("로그인, 평문으로 저장된 기존 비밀번호는 로그인 시 해시로 바뀐다")
+    void t9() throws Exception {
+        memberRepository.save(new Member("legacyUser", "1234", "기존유저"));
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/members/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "username": "legacyUser",
+                                            "password": "1234"
+                                        }
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1MemberController.class))
+                .andExpect(handler().methodName("login"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"));
+
+        Member member = memberRepository.findByUsername("legacyUser").get();
+
+        assertThat(member.getPassword()).startsWith("$2");
+    }
+
+    @Test
+    @DisplayName("로그인, 실패가 누적되면 잠시 로그인을 막는다")
+    void t10() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mvc
+                    .perform(
+                            post("/api/v1/members/login")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("""
+                                            {
+                                                "username": "throttledUser",
+                                                "password": "1234"
+                                            }
+                                            """)
+                    )
+                    .andExpect(jsonPath("$.resultCode").value("401-1"));
+        }
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/members/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "username": "throttledUser",
+                                            "password": "1234"
+                                        }
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1MemberController.class))
+                .andExpect(handler().methodName("login"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.resultCode").value("429-1"))
+                .andExpect(jsonPath("$.msg").value("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요."));
+    }
 }
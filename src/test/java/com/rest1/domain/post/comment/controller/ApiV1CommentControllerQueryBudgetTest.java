@@ -0,0 +1,258 @@
+package com.rest1.domain.post.comment.controller;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.service.MemberService;
+import com.rest1.domain.post.comment.entity.Comment;
+import com.rest1.domain.post.post.entity.Post;
+import com.rest1.domain.post.post.service.PostService;
+import com.rest1.global.queryCount.CapturedQueries;
+import com.rest1.global.queryCount.QueryCapture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 작성자가 서로 다른 댓글이 많은 글로 엔드포인트마다 실행되는 쿼리 수를 고정한다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:db_query_budget;MODE=MySQL")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class ApiV1CommentControllerQueryBudgetTest {
+
+    private static final int AUTHORS = 10;
+    private static final int COMMENTS = 60;
+
+    @RegisterExtension
+    private final QueryCapture queryCapture = new QueryCapture();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private PostService postService;
+
+    private final List<Member> authors = new ArrayList<>();
+    private final List<Comment> comments = new ArrayList<>();
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(memberService.join("budget%d".formatted(i), "1234", "예산%d".formatted(i)));
+        }
+
+        post = postService.write(authors.getFirst(), "예산글", "예산 내용");
+
+        for (int i = 0; i < COMMENTS; i++) {
+            comments.add(postService.writeComment(authors.get(i % AUTHORS), post, "댓글 %d".formatted(i)));
+        }
+
+        postService.flush();
+    }
+
+    private String auth(Member member) {
+        return "Bearer %s".formatted(member.getApiKey());
+    }
+
+    private String commentsUrl() {
+        return "/api/v1/posts/%d/comments".formatted(post.getId());
+    }
+
+    private String commentUrl(Comment comment) {
+        return "%s/%d".formatted(commentsUrl(), comment.getId());
+    }
+
+    @Test
+    @DisplayName("댓글 다건 조회, 페이지 크기와 작성자 수와 상관없이 조회 1번")
+    void t1() throws Exception {
+        CapturedQueries small = queryCapture.capture(() ->
+                mvc.perform(get(commentsUrl()).param("size", "5"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(5))
+        );
+
+        CapturedQueries large = queryCapture.capture(() ->
+                mvc.perform(get(commentsUrl()).param("size", "50"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(50))
+        );
+
+        small.selects(1).total(1);
+        large.selects(1).total(1);
+    }
+
+    @Test
+    @DisplayName("댓글 다건 조회, 조건부 요청은 버전 컬럼만 조회")
+    void t2() throws Exception {
+        String eTag = mvc.perform(get(commentsUrl()).param("size", "50"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        queryCapture.capture(() ->
+                        mvc.perform(get(commentsUrl()).param("size", "50").header("If-None-Match", eTag))
+                                .andExpect(status().isNotModified())
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("댓글 다건 조회, 댓글이 없는 글은 글 존재 여부를 한 번 더 조회")
+    void t3() throws Exception {
+        Post empty = postService.write(authors.getFirst(), "빈 글", "빈 내용");
+
+        queryCapture.capture(() ->
+                        mvc.perform(get("/api/v1/posts/%d/comments".formatted(empty.getId())))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(0))
+                )
+                .selects(2)
+                .total(2);
+    }
+
+    @Test
+    @DisplayName("댓글 단건 조회")
+    void t4() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(get(commentUrl(comments.getFirst())))
+                                .andExpect(status().isOk())
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("댓글 작성, 기존 댓글을 읽어 오지 않는다")
+    void t5() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        post(commentsUrl())
+                                                .header("Authorization", auth(authors.get(1)))
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "content": "새 댓글"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isCreated())
+                )
+                // 인증, 글 조회와 미리 받아 둔 시퀀스 값이 떨어졌을 때만 시퀀스 조회
+                .maxSelects(3)
+                .inserts(1)
+                .updates(1)
+                .deletes(0);
+    }
+
+    @Test
+    @DisplayName("댓글 여러 개 작성, 글과 기존 댓글을 읽어 오지 않는다")
+    void t6() throws Exception {
+        int items = 120;
+
+        String body = IntStream.range(0, items)
+                .mapToObj(i -> "{\"content\": \"대량 댓글 %d\"}".formatted(i))
+                .collect(Collectors.joining(",", "{\"items\": [", "]}"));
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        post("%s/bulk".formatted(commentsUrl()))
+                                                .header("Authorization", auth(authors.get(1)))
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(body)
+                                )
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.data.ids.length()").value(items))
+                )
+                // 인증 1번과 시퀀스 조회, insert 는 JDBC 배치(50개)로 120개가 3번
+                .maxSelects(4)
+                .inserts(3)
+                .updates(1)
+                .deletes(0);
+    }
+
+    @Test
+    @DisplayName("댓글 수정, update 1번")
+    void t7() throws Exception {
+        Comment comment = comments.getFirst();
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        put(commentUrl(comment))
+                                                .header("Authorization", auth(comment.getAuthor()))
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "content": "수정 댓글"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isOk())
+                )
+                .selects(1)
+                .updates(1)
+                .inserts(0)
+                .deletes(0);
+    }
+
+    @Test
+    @DisplayName("댓글 수정, 다른 사람의 댓글이면 원인을 구분하려고 한 번 더 조회")
+    void t8() throws Exception {
+        Comment comment = comments.getFirst();
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        put(commentUrl(comment))
+                                                .header("Authorization", auth(authors.get(1)))
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "content": "수정 댓글"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isForbidden())
+                )
+                .selects(2)
+                .updates(1)
+                .inserts(0)
+                .deletes(0);
+    }
+
+    @Test
+    @DisplayName("댓글 삭제, 댓글 수와 상관없이 delete 1번")
+    void t9() throws Exception {
+        Comment comment = comments.getFirst();
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        delete(commentUrl(comment))
+                                                .header("Authorization", auth(comment.getAuthor()))
+                                )
+                                .andExpect(status().isOk())
+                )
+                .selects(1)
+                .deletes(1)
+                .updates(1)
+                .inserts(0);
+    }
+}
@@ -3,9 +3,14 @@ package com.rest1.domain.post.comment.controller;
 
 import com.rest1.domain.member.member.entity.Member;
 import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.domain.post.comment.dto.CommentDto;
 import com.rest1.domain.post.comment.entity.Comment;
+import com.rest1.domain.post.comment.repository.CommentRepository;
 import com.rest1.domain.post.post.entity.Post;
 import com.rest1.domain.post.post.repository.PostRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +22,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,15 +43,24 @@ public class ApiV1CommentControllerTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private CommentRepository commentRepository;
+
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @DisplayName("댓글 다건 조회 - 1번 글에 대한 댓글")
     void t1() throws Exception {
 
         long targetPostId = 1;
 
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
         ResultActions resultActions = mvc
                 .perform(
                         get("/api/v1/posts/%d/comments".formatted(targetPostId))
@@ -56,16 +73,20 @@ public class ApiV1CommentControllerTest {
                 .andExpect(status().isOk());
 
         resultActions
-                .andExpect(jsonPath("$.length()").value(3))
-                .andExpect(jsonPath("$[*].id", containsInRelativeOrder(3, 1)))
-                .andExpect(jsonPath("$[0].id").value(3))
-                .andExpect(jsonPath("$[0].createDate").exists())
-                .andExpect(jsonPath("$[0].modifyDate").exists())
-                .andExpect(jsonPath("$[0].content").value("댓글 1-3"))
-                .andExpect(jsonPath("$[0].authorId").value(3))
-                .andExpect(jsonPath("$[0].authorName").value("유저1"))
-                .andExpect(jsonPath("$[0].postId").value(1));
-
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[*].id", containsInRelativeOrder(3, 1)))
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[0].createDate").exists())
+                .andExpect(jsonPath("$.items[0].modifyDate").exists())
+                .andExpect(jsonPath("$.items[0].content").value("댓글 1-3"))
+                .andExpect(jsonPath("$.items[0].authorId").value(3))
+                .andExpect(jsonPath("$.items[0].authorName").value("유저1"))
+                .andExpect(jsonPath("$.items[0].postId").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+
+        // 작성자까지 한 번의 쿼리로 조회하고 엔티티는 만들지 않는다.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
     }
 
     @Test
@@ -127,6 +148,8 @@ public class ApiV1CommentControllerTest {
                 .andExpect(jsonPath("$.data.commentDto.content").value(content))
                 .andExpect(jsonPath("$.data.commentDto.authorId").value(author.getId()))
                 .andExpect(jsonPath("$.data.commentDto.authorName").value(author.getName()));
+
+        assertThat(postRepository.findDtoById(targetPostId).get().commentCount()).isEqualTo(4);
     }
 
     @Test
@@ -158,10 +181,9 @@ public class ApiV1CommentControllerTest {
                 .andExpect(jsonPath("$.resultCode").value("200-1"))
                 .andExpect(jsonPath("$.msg").value("%d번 댓글이 수정되었습니다.".formatted(targetCommentId)));
 
-        Post post = postRepository.findById(targetPostId).get();
-        Comment comment = post.findCommentById(targetCommentId).get();
+        CommentDto comment = commentRepository.findDtoByPostIdAndId(targetPostId, targetCommentId).get();
 
-        assertThat(comment.getContent()).isEqualTo(content);
+        assertThat(comment.content()).isEqualTo(content);
     }
 
     @Test
@@ -218,9 +240,8 @@ public class ApiV1CommentControllerTest {
                 .andExpect(jsonPath("$.msg").value("%d번 댓글이 삭제되었습니다.".formatted(targetCommentId)));
 
         // 선택적 검증
-        Post post = postRepository.findById(targetPostId).orElse(null);
-        Comment comment = post.findCommentById(targetCommentId).orElse(null);
-        assertThat(comment).isNull();
+        assertThat(commentRepository.findDtoByPostIdAndId(targetPostId, targetCommentId)).isEmpty();
+        assertThat(postRepository.findDtoById(targetPostId).get().commentCount()).isEqualTo(2);
     }
 
     @Test
@@ -246,4 +267,262 @@ public class ApiV1CommentControllerTest {
                 .andExpect(jsonPath("$.resultCode").value("403-2"))
                 .andExpect(jsonPath("$.msg").value("댓글 삭제 권한이 없습니다."));
     }
+
+    @Test
+    @DisplayName("댓글 다건 조회, 커서 페이징")
+    void t8() throws Exception {
+
+        long targetPostId = 1;
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments".formatted(targetPostId))
+                                .param("size", "2")
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1CommentController.class))
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(2));
+
+        resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments".formatted(targetPostId))
+                                .param("cursor", "2")
+                                .param("size", "2")
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("댓글 다건 조회, 존재하지 않는 글")
+    void t9() throws Exception {
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/%d/comments".formatted(Integer.MAX_VALUE))
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1CommentController.class))
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.resultCode").value("404-1"));
+    }
+
+    @Test
+    @DisplayName("댓글 삭제 - 다른 글의 댓글 번호로 삭제")
+    void t10() throws Exception {
+        long targetPostId = 2;
+        long targetCommentId = 1;
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        delete("/api/v1/posts/%d/comments/%d".formatted(targetPostId, targetCommentId))
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1CommentController.class))
+                .andExpect(handler().methodName("deleteItem"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.resultCode").value("404-1"));
+
+        assertThat(commentRepository.findDtoByPostIdAndId(1L, targetCommentId)).isPresent();
+    }
+
+    @Test
+    @DisplayName("댓글 다건 조회, 바뀌지 않았으면 304, 댓글이 수정되면 200")
+    void t11() throws Exception {
+
+        String eTag = mvc
+                .perform(
+                        get("/api/v1/posts/1/comments")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1/comments")
+                                .header("If-None-Match", eTag)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // 버전 컬럼 조회 1번만
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/1/comments/1")
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "content": "댓글 내용 수정"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isOk());
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1/comments")
+                                .header("If-None-Match", eTag)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[2].content").value("댓글 내용 수정"));
+    }
+
+    @Test
+    @DisplayName("댓글 여러 개 작성")
+    void t12() throws Exception {
+
+        long targetPostId = 1;
+        Member actor = memberRepository.findByUsername("user2").get();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/posts/%d/comments/bulk".formatted(targetPostId))
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "items": [
+                                                { "content": "댓글 A" },
+                                                { "content": "댓글 B" }
+                                            ]
+                                        }
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1CommentController.class))
+                .andExpect(handler().methodName("createItems"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.resultCode").value("201-1"))
+                .andExpect(jsonPath("$.msg").value("2개의 댓글이 생성되었습니다."))
+                .andExpect(jsonPath("$.data.ids.length()").value(2));
+
+        Post post = postRepository.findById(targetPostId).get();
+
+        assertThat(post.getCommentCount()).isEqualTo(5);
+        assertThat(post.getComments()).extracting(Comment::getContent).endsWith("댓글 A", "댓글 B");
+        assertThat(post.getComments().getLast().getAuthor().getId()).isEqualTo(actor.getId());
+    }
+
+    @Test
+    @DisplayName("댓글 여러 개 작성, 배치 크기보다 많으면 여러 번 나눠서 flush 한다")
+    void t13() throws Exception {
+
+        long targetPostId = 2;
+        Member actor = memberRepository.findByUsername("user1").get();
+
+        String items = IntStream.rangeClosed(1, 1200)
+                .mapToObj("{ \"content\": \"댓글 %d\" }"::formatted)
+                .collect(Collectors.joining(",", "{ \"items\": [", "] }"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc
+                .perform(
+                        post("/api/v1/posts/%d/comments/bulk".formatted(targetPostId))
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(items)
+                )
+                .andExpect(handler().methodName("createItems"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.ids.length()").value(1200));
+
+        // insert 는 50개씩 묶어서 실행된다.
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1200);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(100);
+
+        assertThat(postRepository.findById(targetPostId).get().getCommentCount()).isEqualTo(1202);
+    }
+
+    @Test
+    @DisplayName("댓글 여러 개 작성, 항목 하나라도 유효하지 않으면 하나도 저장하지 않는다")
+    void t14() throws Exception {
+
+        long targetPostId = 1;
+        Member actor = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        post("/api/v1/posts/%d/comments/bulk".formatted(targetPostId))
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "items": [
+                                                { "content": "댓글 A" },
+                                                { "content": "B" }
+                                            ]
+                                        }
+                                        """)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("createItems"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("400-1"))
+                .andExpect(jsonPath("$.msg").value("items[1].content-Size-size must be between 2 and 100"));
+
+        assertThat(postRepository.findById(targetPostId).get().getCommentCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("댓글 여러 개 작성, 존재하지 않는 글")
+    void t15() throws Exception {
+
+        Member actor = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        post("/api/v1/posts/%d/comments/bulk".formatted(Integer.MAX_VALUE))
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "items": [
+                                                { "content": "댓글 A" }
+                                            ]
+                                        }
+                                        """)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("createItems"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.resultCode").value("404-1"));
+    }
 }
@@ -0,0 +1,159 @@
+package com.rest1.domain.post.post.controller;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.entity.MemberRole;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.domain.post.comment.repository.CommentRepository;
+import com.rest1.domain.post.post.repository.PostRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class ApiV1AdmPostControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    @DisplayName("글 여러 개 삭제, 글 번호 목록으로")
+    void t1() throws Exception {
+
+        Member admin = memberRepository.findByUsername("admin").get();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        delete("/api/v1/adm/posts")
+                                .param("ids", "1", "2")
+                                .header("Authorization", "Bearer %s".formatted(admin.getApiKey()))
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1AdmPostController.class))
+                .andExpect(handler().methodName("deleteItems"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"))
+                .andExpect(jsonPath("$.msg").value("2개의 게시물이 삭제되었습니다."))
+                .andExpect(jsonPath("$.data.deletedCount").value(2));
+
+        assertThat(postRepository.findById(1L)).isEmpty();
+        assertThat(postRepository.findById(2L)).isEmpty();
+        assertThat(postRepository.findById(3L)).isPresent();
+        assertThat(commentRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("글 여러 개 삭제, 작성자 번호로")
+    void t2() throws Exception {
+
+        Member admin = memberRepository.findByUsername("admin").get();
+        Member author = memberRepository.findByUsername("user2").get();
+
+        mvc
+                .perform(
+                        delete("/api/v1/adm/posts")
+                                .param("authorId", author.getId().toString())
+                                .header("Authorization", "Bearer %s".formatted(admin.getApiKey()))
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("deleteItems"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deletedCount").value(1));
+
+        assertThat(postRepository.findById(3L)).isEmpty();
+        assertThat(postRepository.count()).isEqualTo(2);
+        assertThat(commentRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("글 여러 개 삭제, 관리자가 아닌 경우")
+    void t3() throws Exception {
+
+        Member actor = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        delete("/api/v1/adm/posts")
+                                .param("ids", "1")
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("deleteItems"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.resultCode").value("403-1"))
+                .andExpect(jsonPath("$.msg").value("권한이 없습니다."));
+
+        assertThat(postRepository.findById(1L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("글 여러 개 삭제, 삭제 대상을 지정하지 않은 경우")
+    void t4() throws Exception {
+
+        Member admin = memberRepository.findByUsername("admin").get();
+
+        mvc
+                .perform(
+                        delete("/api/v1/adm/posts")
+                                .header("Authorization", "Bearer %s".formatted(admin.getApiKey()))
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("deleteItems"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("400-3"));
+    }
+
+    @Test
+    @DisplayName("글 여러 개 삭제, 관리자 여부는 아이디가 아니라 회원의 권한으로 판단한다")
+    void t5() throws Exception {
+
+        Member admin = memberRepository.findByUsername("admin").get();
+        Member actor = memberRepository.findByUsername("user1").get();
+        admin.modifyRole(MemberRole.USER);
+        actor.modifyRole(MemberRole.ADMIN);
+
+        mvc
+                .perform(
+                        delete("/api/v1/adm/posts")
+                                .param("ids", "1")
+                                .header("Authorization", "Bearer %s".formatted(admin.getApiKey()))
+                )
+                .andDo(print())
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.resultCode").value("403-1"));
+
+        mvc
+                .perform(
+                        delete("/api/v1/adm/posts")
+                                .param("ids", "1")
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deletedCount").value(1));
+    }
+}
@@ -0,0 +1,338 @@
+package com.rest1.domain.post.post.controller;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.service.MemberService;
+import com.rest1.domain.post.post.entity.Post;
+import com.rest1.domain.post.post.search.PostSearchIndex;
+import com.rest1.domain.post.post.service.PostService;
+import com.rest1.global.queryCount.CapturedQueries;
+import com.rest1.global.queryCount.QueryCapture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 엔드포인트마다 실행되는 쿼리 수를 고정해서 N+1 같은 회귀를 잡는다.
+// 작성자, 댓글이 여러 개인 글을 충분히 만들어 두고, 페이지 크기를 바꿔도 쿼리 수가 같은지 본다.
+// 데이터를 많이 만들어서 시퀀스가 밀리므로 다른 테스트와 DB 를 나눈다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:db_query_budget;MODE=MySQL")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class ApiV1PostControllerQueryBudgetTest {
+
+    private static final int AUTHORS = 10;
+    private static final int POSTS = 40;
+    private static final int COMMENTS_PER_POST = 5;
+
+    @RegisterExtension
+    private final QueryCapture queryCapture = new QueryCapture();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    private final List<Member> authors = new ArrayList<>();
+    private final List<Post> posts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(memberService.join("budget%d".formatted(i), "1234", "예산%d".formatted(i)));
+        }
+
+        for (int i = 0; i < POSTS; i++) {
+            Post post = postService.write(authors.get(i % AUTHORS), "예산글%d".formatted(i), "예산 내용 %d".formatted(i));
+
+            for (int j = 0; j < COMMENTS_PER_POST; j++) {
+                postService.writeComment(authors.get((i + j + 1) % AUTHORS), post, "댓글 %d-%d".formatted(i, j));
+            }
+
+            posts.add(post);
+        }
+
+        // 검색 색인은 커밋 후에 반영되므로 롤백될 테스트 데이터는 직접 넣는다.
+        posts.forEach(post -> postSearchIndex.put(post.getId(), post.getTitle(), post.getContent()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        posts.forEach(post -> postSearchIndex.remove(post.getId()));
+    }
+
+    private String auth(Member member) {
+        return "Bearer %s".formatted(member.getApiKey());
+    }
+
+    @Test
+    @DisplayName("글 다건 조회, 페이지 크기와 상관없이 조회 1번")
+    void t1() throws Exception {
+        CapturedQueries small = queryCapture.capture(() ->
+                mvc.perform(get("/api/v1/posts").param("size", "5"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(5))
+        );
+
+        CapturedQueries large = queryCapture.capture(() ->
+                mvc.perform(get("/api/v1/posts").param("size", "40"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(40))
+        );
+
+        small.selects(1).total(1);
+        large.selects(1).total(1);
+    }
+
+    @Test
+    @DisplayName("글 다건 조회, 다음 페이지")
+    void t2() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        get("/api/v1/posts")
+                                                .param("cursor", posts.get(20).getId().toString())
+                                                .param("size", "10")
+                                )
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(10))
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("글 검색, 결과 수와 상관없이 조회 1번")
+    void t3() throws Exception {
+        CapturedQueries small = queryCapture.capture(() ->
+                mvc.perform(get("/api/v1/posts/search").param("q", "예산").param("size", "3"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(3))
+        );
+
+        CapturedQueries large = queryCapture.capture(() ->
+                mvc.perform(get("/api/v1/posts/search").param("q", "예산").param("size", "40"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items.length()").value(40))
+        );
+
+        small.selects(1).total(1);
+        large.selects(1).total(1);
+    }
+
+    @Test
+    @DisplayName("글 검색, 결과가 없으면 쿼리를 실행하지 않는다")
+    void t4() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(get("/api/v1/posts/search").param("q", "없는검색어"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items.length()").value(0))
+                )
+                .total(0);
+    }
+
+    @Test
+    @DisplayName("글 단건 조회, 댓글이 있어도 조회 1번")
+    void t5() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(get("/api/v1/posts/%d".formatted(posts.getFirst().getId())))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.commentCount").value(COMMENTS_PER_POST))
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("글 단건 조회, 조건부 요청은 버전 컬럼만 조회")
+    void t6() throws Exception {
+        String eTag = mvc.perform(get("/api/v1/posts/%d".formatted(posts.getFirst().getId())))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        get("/api/v1/posts/%d".formatted(posts.getFirst().getId()))
+                                                .header("If-None-Match", eTag)
+                                )
+                                .andExpect(status().isNotModified())
+                )
+                .selects(1)
+                .total(1);
+    }
+
+    @Test
+    @DisplayName("글 작성")
+    void t7() throws Exception {
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        post("/api/v1/posts")
+                                                .header("Authorization", auth(authors.getFirst()))
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "title": "새 글",
+                                                            "content": "새 내용"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isCreated())
+                )
+                .selects(1)
+                .inserts(1)
+                .updates(0)
+                .deletes(0);
+    }
+
+    @Test
+    @DisplayName("글 여러 개 작성, 항목 수만큼만 insert")
+    void t8() throws Exception {
+        int items = 120;
+
+        String body = IntStream.range(0, items)
+                .mapToObj(i -> """
+                        {"title": "대량 %d", "content": "대량 내용 %d"}
+                        """.formatted(i, i))
+                .collect(Collectors.joining(",", "{\"items\": [", "]}"));
+
+        CapturedQueries captured = queryCapture.capture(() ->
+                mvc.perform(
+                                post("/api/v1/posts/bulk")
+                                        .header("Authorization", auth(authors.getFirst()))
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(body)
+                        )
+                        .andExpect(status().isCreated())
+                        .andExpect(jsonPath("$.data.ids.length()").value(items))
+        );
+
+        // 인증 1번과 시퀀스 조회, 시퀀스는 증가 단위(50)만큼 한 번에 가져오므로 앞선 테스트에 따라 2~3번
+        // insert 는 JDBC 배치(50개)로 묶여서 실행되므로 120개가 3번(50, 50, 20)
+        captured
+                .maxSelects(4)
+                .inserts(3)
+                .updates(0)
+                .deletes(0);
+    }
+
+    @Test
+    @DisplayName("글 수정")
+    void t9() throws Exception {
+        Post post = posts.getFirst();
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        put("/api/v1/posts/%d".formatted(post.getId()))
+                                                .header("Authorization", auth(post.getAuthor()))
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content("""
+                                                        {
+                                                            "title": "수정",
+                                                            "content": "수정 내용"
+                                                        }
+                                                        """)
+                                )
+                                .andExpect(status().isOk())
+                )
+                .selects(2)
+                .updates(1)
+                .inserts(0)
+                .deletes(0);
+    }
+
+    @Test
+    @DisplayName("글 삭제, 댓글 수와 상관없이 delete 2번")
+    void t10() throws Exception {
+        Post post = posts.getFirst();
+
+        queryCapture.capture(() ->
+                        mvc.perform(
+                                        delete("/api/v1/posts/%d".formatted(post.getId()))
+                                                .header("Authorization", auth(post.getAuthor()))
+                                )
+                                .andExpect(status().isOk())
+                )
+                .selects(2)
+                .deletes(2)
+                .inserts(0)
+                .updates(0);
+    }
+
+    @Test
+    @DisplayName("글 여러 개 삭제, 작성자의 글과 댓글 수와 상관없이 쿼리 수가 같다")
+    void t11() throws Exception {
+        Member admin = memberService.findByUsername("admin").get();
+        Member author = authors.getFirst();
+
+        CapturedQueries captured = queryCapture.capture(() ->
+                mvc.perform(
+                                delete("/api/v1/adm/posts")
+                                        .param("authorId", author.getId().toString())
+                                        .header("Authorization", auth(admin))
+                        )
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.data.deletedCount").value(POSTS / AUTHORS))
+        );
+
+        // 인증, 작성자의 글 번호 조회
+        captured
+                .selects(2)
+                .deletes(2)
+                .inserts(0)
+                .updates(0);
+    }
+
+    @Test
+    @DisplayName("글 여러 개 삭제, 글 번호 목록으로")
+    void t12() throws Exception {
+        Member admin = memberService.findByUsername("admin").get();
+
+        String[] ids = posts.stream()
+                .limit(20)
+                .map(post -> post.getId().toString())
+                .toArray(String[]::new);
+
+        CapturedQueries captured = queryCapture.capture(() ->
+                mvc.perform(
+                                delete("/api/v1/adm/posts")
+                                        .param("ids", ids)
+                                        .header("Authorization", auth(admin))
+                        )
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.data.deletedCount").value(ids.length))
+        );
+
+        captured
+                .selects(1)
+                .deletes(2)
+                .inserts(0)
+                .updates(0);
+
+        assertThat(captured.getCount()).isEqualTo(3);
+    }
+}
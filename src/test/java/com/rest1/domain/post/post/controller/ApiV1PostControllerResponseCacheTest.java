@@ -0,0 +1,212 @@
+package com.rest1.domain.post.post.controller;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.domain.post.post.service.PostService;
+import com.rest1.global.responseCache.ResponseCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "custom.responseCache.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+public class ApiV1PostControllerResponseCacheTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // 테스트 트랜잭션은 롤백되므로 다른 테스트에서 캐시된 내용이 남지 않게 한다.
+    @BeforeEach
+    void setUp() {
+        responseCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("글 단건 조회, 두 번째부터는 DB 조회 없이 캐시에서")
+    void t1() throws Exception {
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("제목1"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("getItem"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.title").value("제목1"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("글 수정 후에는 수정된 내용")
+    void t2() throws Exception {
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(jsonPath("$.title").value("제목1"));
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/1")
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isOk());
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andDo(print())
+                .andExpect(jsonPath("$.title").value("제목 new"));
+    }
+
+    @Test
+    @DisplayName("댓글 작성 후에는 댓글 목록과 글의 댓글 수가 바뀐다")
+    void t3() throws Exception {
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(jsonPath("$.commentCount").value(3));
+        mvc
+                .perform(
+                        get("/api/v1/posts/1/comments")
+                )
+                .andExpect(jsonPath("$.items.length()").value(3));
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        post("/api/v1/posts/1/comments")
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "content": "댓글 new"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isCreated());
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(jsonPath("$.commentCount").value(4));
+        mvc
+                .perform(
+                        get("/api/v1/posts/1/comments")
+                )
+                .andDo(print())
+                .andExpect(jsonPath("$.items.length()").value(4))
+                .andExpect(jsonPath("$.items[0].content").value("댓글 new"));
+    }
+
+    @Test
+    @DisplayName("댓글 삭제 후에는 삭제된 댓글이 보이지 않는다")
+    void t4() throws Exception {
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1/comments")
+                )
+                .andExpect(jsonPath("$.items.length()").value(3));
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        delete("/api/v1/posts/1/comments/1")
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                )
+                .andExpect(status().isOk());
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1/comments")
+                )
+                .andDo(print())
+                .andExpect(jsonPath("$.items.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("댓글 수를 다시 계산해서 고친 글이 있으면 고친 댓글 수가 보인다")
+    void t5() throws Exception {
+        // 증감 쿼리가 어긋나서 틀린 댓글 수가 캐시된 상태
+        jdbcTemplate.update("update post set comment_count = 100 where id = 1");
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(jsonPath("$.commentCount").value(100));
+
+        assertThat(postService.repairCommentStats()).isEqualTo(1);
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andDo(print())
+                .andExpect(jsonPath("$.commentCount").value(3));
+    }
+}
@@ -1,23 +1,33 @@
 package com.rest1.domain.post.post.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import com.rest1.domain.member.member.entity.Member;
 import com.rest1.domain.member.member.repository.MemberRepository;
 import com.rest1.domain.post.post.entity.Post;
 import com.rest1.domain.post.post.repository.PostRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,16 +41,25 @@ public class ApiV1PostControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private PostRepository postRepository;
 
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @DisplayName("글 다건 조회")
     void t1() throws Exception {
 
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
         ResultActions resultActions = mvc
                 .perform(
                         get("/api/v1/posts")
@@ -53,15 +72,16 @@ public class ApiV1PostControllerTest {
                 .andExpect(status().isOk());
 
         resultActions
-                .andExpect(jsonPath("$.length()").value(3))
-                .andExpect(jsonPath("$[*].id", containsInRelativeOrder(3, 1)))
-                .andExpect(jsonPath("$[0].id").value(3))
-                .andExpect(jsonPath("$[0].createDate").exists())
-                .andExpect(jsonPath("$[0].modifyDate").exists())
-                .andExpect(jsonPath("$[0].title").value("제목3"))
-                .andExpect(jsonPath("$[0].content").value("내용3"))
-                .andExpect(jsonPath("$[0].authorId").value(4))
-                .andExpect(jsonPath("$[0].authorName").value("유저2"));
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[*].id", containsInRelativeOrder(3, 1)))
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[0].createDate").exists())
+                .andExpect(jsonPath("$.items[0].modifyDate").exists())
+                .andExpect(jsonPath("$.items[0].title").value("제목3"))
+                .andExpect(jsonPath("$.items[0].content").value("내용3"))
+                .andExpect(jsonPath("$.items[0].authorId").value(4))
+                .andExpect(jsonPath("$.items[0].authorName").value("유저2"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
 
 
         // 하나 또는 2개 정도만 검증
@@ -77,6 +97,10 @@ public class ApiV1PostControllerTest {
 //                    .andExpect(jsonPath("$[%d].title".formatted(i)).value(post.getTitle()))
 //                    .andExpect(jsonPath("$[%d].content".formatted(i)).value(post.getContent()));
 //        }
+
+        // 작성자까지 한 번의 쿼리로 조회하고 엔티티는 만들지 않는다.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
     }
 
     @Test
@@ -103,7 +127,9 @@ public class ApiV1PostControllerTest {
                 .andExpect(jsonPath("$.title").value("제목1"))
                 .andExpect(jsonPath("$.content").value("내용1"))
                 .andExpect(jsonPath("$.authorId").value(3))
-                .andExpect(jsonPath("$.authorName").value("유저1"));
+                .andExpect(jsonPath("$.authorName").value("유저1"))
+                .andExpect(jsonPath("$.commentCount").value(3))
+                .andExpect(jsonPath("$.lastCommentAt").exists());
     }
 
     @Test
@@ -466,4 +492,479 @@ public class ApiV1PostControllerTest {
                 .andExpect(jsonPath("$.msg").value("삭제 권한이 없습니다."));
 
     }
+
+    @Test
+    @DisplayName("글 다건 조회, 커서 페이징")
+    void t15() throws Exception {
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .param("size", "2")
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(2));
+
+        resultActions = mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .param("cursor", "2")
+                                .param("size", "2")
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("글 검색")
+    void t16() throws Exception {
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/search")
+                                .param("q", "제목")
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[2].id").value(1));
+
+        resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/search")
+                                .param("q", "내용2")
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.items[0].title").value("제목2"));
+    }
+
+    @Test
+    @DisplayName("글 단건 조회, 바뀌지 않았으면 304")
+    void t17() throws Exception {
+
+        String eTag = mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                                .header("If-None-Match", eTag)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("getItem"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        // 버전 컬럼 조회 1번만
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/1")
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isOk());
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                                .header("If-None-Match", eTag)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.title").value("제목 new"));
+    }
+
+    @Test
+    @DisplayName("글 다건 조회, 바뀌지 않았으면 304, 글이 추가되면 200")
+    void t18() throws Exception {
+
+        String eTag = mvc
+                .perform(
+                        get("/api/v1/posts")
+                )
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .header("If-None-Match", eTag)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("getItems"))
+                .andExpect(status().isNotModified());
+
+        Member author = memberRepository.findByUsername("user1").get();
+        postRepository.save(new Post(author, "제목 new", "내용 new"));
+
+        mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .header("If-None-Match", eTag)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(4));
+    }
+
+    @Test
+    @DisplayName("글, 댓글 전체 내보내기")
+    void t19() throws Exception {
+
+        Member actor = memberRepository.findByUsername("user1").get();
+
+        MvcResult mvcResult = mvc
+                .perform(
+                        get("/api/v1/posts/export")
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc
+                .perform(asyncDispatch(mvcResult))
+                .andExpect(handler().methodName("export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+
+        String[] lines = mvcResult.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines).hasSize(3);
+        assertThat(JsonPath.<Integer>read(lines[0], "$.id")).isEqualTo(1);
+        assertThat(JsonPath.<String>read(lines[0], "$.title")).isEqualTo("제목1");
+        assertThat(JsonPath.<List<Integer>>read(lines[0], "$.comments[*].id")).containsExactly(1, 2, 3);
+        assertThat(JsonPath.<List<Integer>>read(lines[1], "$.comments[*].id")).containsExactly(4, 5);
+        assertThat(JsonPath.<List<Integer>>read(lines[2], "$.comments")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("글, 댓글 전체 내보내기, 로그인하지 않은 경우")
+    void t20() throws Exception {
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/export")
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("export"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.resultCode").value("401-1"));
+    }
+
+    @Test
+    @DisplayName("글 여러 개 작성")
+    void t21() throws Exception {
+
+        Member actor = memberRepository.findByUsername("user1").get();
+
+        ResultActions resultActions = mvc
+                .perform(
+                        post("/api/v1/posts/bulk")
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "items": [
+                                                { "title": "제목 A", "content": "내용 A" },
+                                                { "title": "제목 B", "content": "내용 B" }
+                                            ]
+                                        }
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("createItems"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.resultCode").value("201-1"))
+                .andExpect(jsonPath("$.msg").value("2개의 게시물이 생성되었습니다."))
+                .andExpect(jsonPath("$.data.ids.length()").value(2));
+
+        List<Integer> ids = JsonPath.read(resultActions.andReturn().getResponse().getContentAsString(), "$.data.ids");
+
+        Post post1 = postRepository.findById(ids.get(0).longValue()).get();
+        Post post2 = postRepository.findById(ids.get(1).longValue()).get();
+
+        assertThat(post1.getTitle()).isEqualTo("제목 A");
+        assertThat(post1.getAuthor().getId()).isEqualTo(actor.getId());
+        assertThat(post2.getTitle()).isEqualTo("제목 B");
+    }
+
+    @Test
+    @DisplayName("글 여러 개 작성, 항목 하나라도 유효하지 않으면 하나도 저장하지 않는다")
+    void t22() throws Exception {
+
+        Member actor = memberRepository.findByUsername("user1").get();
+        long count = postRepository.count();
+
+        mvc
+                .perform(
+                        post("/api/v1/posts/bulk")
+                                .header("Authorization", "Bearer %s".formatted(actor.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "items": [
+                                                { "title": "제목 A", "content": "내용 A" },
+                                                { "title": "", "content": "내용 B" }
+                                            ]
+                                        }
+                                        """)
+                )
+                .andDo(print())
+                .andExpect(handler().methodName("createItems"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.resultCode").value("400-1"))
+                .andExpect(jsonPath("$.msg").value("""
+                        items[1].title-NotBlank-must not be blank
+                        items[1].title-Size-size must be between 2 and 10
+                        """.stripIndent().trim()));
+
+        assertThat(postRepository.count()).isEqualTo(count);
+    }
+
+    @Test
+    @DisplayName("글 수정, 읽은 뒤 다른 요청이 먼저 수정한 경우 409")
+    void t23() throws Exception {
+        long targetId = 1;
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        // 이 트랜잭션에는 예전 버전의 글이 남아 있고, DB 의 버전만 올라간 상태
+        postRepository.findById(targetId).get();
+        jdbcTemplate.update("update post set version = version + 1 where id = ?", targetId);
+
+        ResultActions resultActions = mvc
+                .perform(
+                        put("/api/v1/posts/%d".formatted(targetId))
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("modifyItem"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.resultCode").value("409-2"))
+                .andExpect(jsonPath("$.msg").value("다른 요청이 먼저 수정했습니다. 최신 내용을 다시 불러온 뒤 수정해주세요."));
+    }
+
+    @Test
+    @DisplayName("글 단건 조회, 존재하지 않는 글")
+    void t24() throws Exception {
+
+        ResultActions resultActions = mvc
+                .perform(
+                        get("/api/v1/posts/%d".formatted(Integer.MAX_VALUE))
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("getItem"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.resultCode").value("404-1"))
+                .andExpect(jsonPath("$.msg").value("존재하지 않는 데이터입니다."));
+    }
+
+    @Test
+    @DisplayName("글 다건 조회, 글이 지워져도 Last-Modified 는 앞으로 가지 않으므로 ETag 로만 비교한다")
+    void t25() throws Exception {
+
+        mvc
+                .perform(
+                        get("/api/v1/posts")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"));
+
+        // If-Modified-Since 만 보내면 304 를 주지 않는다.
+        mvc
+                .perform(
+                        get("/api/v1/posts")
+                                .header("If-Modified-Since", "Fri, 31 Dec 9999 23:59:59 GMT")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("글 단건 조회, 댓글이 지워지면 ETag 는 바뀌고 글 수정 시각은 그대로다")
+    void t26() throws Exception {
+
+        MvcResult before = mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = before.getResponse().getHeader("ETag");
+        String modifyDate = JsonPath.read(before.getResponse().getContentAsString(StandardCharsets.UTF_8), "$.modifyDate");
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        mvc
+                .perform(
+                        delete("/api/v1/posts/1/comments/1")
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                )
+                .andExpect(status().isOk());
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                                .header("If-None-Match", eTag)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.commentCount").value(2))
+                .andExpect(jsonPath("$.modifyDate").value(modifyDate))
+                .andExpect(jsonPath("$.commentsModifyDate").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("글 수정, 읽은 뒤 다른 요청이 먼저 수정해서 보낸 version 이 지금과 다른 경우 409, 덮어쓰지 않는다")
+    void t27() throws Exception {
+        long targetId = 1;
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        MvcResult before = mvc
+                .perform(
+                        get("/api/v1/posts/%d".formatted(targetId))
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+        int version = JsonPath.read(before.getResponse().getContentAsString(StandardCharsets.UTF_8), "$.version");
+
+        // 다른 요청의 수정이 먼저 커밋된 상태
+        jdbcTemplate.update("update post set title = '다른 제목', version = version + 1 where id = ?", targetId);
+
+        ResultActions resultActions = mvc
+                .perform(
+                        put("/api/v1/posts/%d".formatted(targetId))
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new",
+                                            "version": %d
+                                        }
+                                        """.formatted(version))
+                )
+                .andDo(print());
+
+        resultActions
+                .andExpect(handler().handlerType(ApiV1PostController.class))
+                .andExpect(handler().methodName("modifyItem"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.resultCode").value("409-2"))
+                .andExpect(jsonPath("$.msg").value("다른 요청이 먼저 수정했습니다. 최신 내용을 다시 불러온 뒤 수정해주세요."));
+
+        String title = jdbcTemplate.queryForObject("select title from post where id = ?", String.class, targetId);
+
+        assertThat(title).isEqualTo("다른 제목");
+    }
+
+    @Test
+    @DisplayName("글 수정, 읽은 version 을 같이 보내면 수정되고 version 이 올라간다")
+    void t28() throws Exception {
+        long targetId = 1;
+
+        Member author = memberRepository.findByUsername("user1").get();
+
+        MvcResult before = mvc
+                .perform(
+                        get("/api/v1/posts/%d".formatted(targetId))
+                )
+                .andExpect(status().isOk())
+                .andReturn();
+        int version = JsonPath.read(before.getResponse().getContentAsString(StandardCharsets.UTF_8), "$.version");
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/%d".formatted(targetId))
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new",
+                                            "version": %d
+                                        }
+                                        """.formatted(version))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultCode").value("200-1"));
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/%d".formatted(targetId))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("제목 new"))
+                .andExpect(jsonPath("$.version").value(version + 1));
+    }
 }
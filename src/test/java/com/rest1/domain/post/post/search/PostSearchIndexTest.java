@@ -0,0 +1,85 @@
+package com.rest1.domain.post.post.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PostSearchIndexTest {
+
+    @Test
+    @DisplayName("한글은 2글자씩, 영문은 단어 단위로 자른다")
+    void t1() {
+        assertThat(PostSearchTokenizer.tokenize("Spring 게시판입니다, JPA!"))
+                .containsExactly("spring", "게시", "시판", "판입", "입니", "니다", "jpa");
+        assertThat(PostSearchTokenizer.tokenize("글 제목1"))
+                .containsExactly("글", "제목", "1");
+    }
+
+    @Test
+    @DisplayName("모든 검색어를 포함하는 글만, 제목에 있으면 더 앞에")
+    void t2() {
+        PostSearchIndex index = new PostSearchIndex();
+        index.put(1L, "스프링 공부", "JPA 를 배웠다");
+        index.put(2L, "점심 메뉴", "스프링 공부하다가 먹은 점심");
+        index.put(3L, "JPA 정리", "영속성 컨텍스트");
+
+        assertThat(index.search("스프링", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("jpa 스프링", 10)).containsExactly(1L);
+        assertThat(index.search("없는단어", 10)).isEmpty();
+        assertThat(index.search("   ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정, 삭제가 바로 반영된다")
+    void t3() {
+        PostSearchIndex index = new PostSearchIndex();
+        index.put(1L, "스프링 공부", "내용");
+        index.put(2L, "스프링 정리", "내용");
+
+        index.put(1L, "자바 공부", "내용");
+        index.remove(2L);
+
+        assertThat(index.search("스프링", 10)).isEmpty();
+        assertThat(index.search("자바", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("삭제가 많아져 정리한 후에도 결과가 같다")
+    void t4() {
+        PostSearchIndex index = new PostSearchIndex();
+
+        for (long id = 1; id <= 3000; id++) {
+            index.put(id, "제목 " + id, id % 2 == 0 ? "짝수" : "홀수");
+        }
+
+        for (long id = 1; id <= 2000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("짝수", 1000)).hasSize(500).allMatch(id -> id > 2000 && id % 2 == 0);
+        assertThat(index.search("제목", 3)).containsExactly(3000L, 2999L, 2998L);
+    }
+
+    @Test
+    @DisplayName("같은 글을 계속 수정해도 정리하면서 문서 번호를 다시 매겨 메모리가 늘지 않는다")
+    void t5() {
+        PostSearchIndex index = new PostSearchIndex();
+
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, "제목 " + id, "내용");
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            long id = i % 100 + 1;
+            index.put(id, "제목 " + id, "수정 " + i);
+        }
+
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(index.capacity()).isLessThanOrEqualTo(4096);
+        assertThat(index.search("제목", 200)).hasSize(100);
+        assertThat(index.search("수정", 1)).containsExactly(100L);
+    }
+}
@@ -0,0 +1,125 @@
+package com.rest1.domain.post.post.service;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.domain.post.comment.repository.CommentRepository;
+import com.rest1.domain.post.post.entity.Post;
+import com.rest1.domain.post.post.repository.PostRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 스레드가 커밋된 같은 글을 수정해야 하므로 트랜잭션 롤백 대신 별도의 DB 를 쓴다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:db_post_concurrency;MODE=MySQL"
+})
+@ActiveProfiles("test")
+public class PostConcurrencyTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("여러 스레드가 한 글을 동시에 수정하고 댓글을 달아도 다른 수정을 덮어쓰지 않고, 댓글 수는 빠짐없이 반영된다")
+    void t1() throws Exception {
+        Member author = transactionTemplate.execute(status -> memberRepository.findByUsername("user1").get());
+        long postId = transactionTemplate.execute(status -> postService.write(author, "제목", "내용").getId());
+        long initialVersion = postRepository.findById(postId).get().getVersion();
+
+        int editors = 8;
+        int commenters = 4;
+        int iterations = 25;
+
+        ExecutorService executor = Executors.newFixedThreadPool(editors + commenters);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        AtomicInteger modified = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+
+        for (int e = 0; e < editors; e++) {
+            int editor = e;
+
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                for (int i = 0; i < iterations; i++) {
+                    // 클라이언트처럼 글을 읽은 뒤 그때의 version 으로 수정한다.
+                    long version = transactionTemplate.execute(status -> postRepository.findById(postId).get().getVersion());
+                    int n = i;
+
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                postService.modify(author, postId, "수정 %d-%d".formatted(editor, n), "내용 %d-%d".formatted(editor, n), version)
+                        );
+                        modified.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        conflicted.incrementAndGet();
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        for (int c = 0; c < commenters; c++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                for (int i = 0; i < iterations; i++) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            postService.writeComment(author, postRepository.findById(postId).get(), "댓글")
+                    );
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        Post post = postRepository.findById(postId).get();
+
+        // 성공한 수정은 모두 읽은 version 위에서만 반영되었으므로 버전이 성공한 수만큼 올랐다면 덮어써서 사라진 수정이 없다.
+        assertThat(modified.get() + conflicted.get()).isEqualTo(editors * iterations);
+        assertThat(modified.get()).isPositive();
+        assertThat(post.getVersion()).isEqualTo(initialVersion + modified.get());
+        assertThat(post.getTitle()).startsWith("수정 ");
+        assertThat(post.getContent()).isEqualTo(post.getTitle().replace("수정", "내용"));
+        assertThat(post.getCommentCount()).isEqualTo(commenters * iterations);
+        assertThat(commentRepository.findVersionsByPostId(postId, Limit.of(1000))).hasSize(commenters * iterations);
+    }
+}
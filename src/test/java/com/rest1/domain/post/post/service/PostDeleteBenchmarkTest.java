@@ -0,0 +1,105 @@
+package com.rest1.domain.post.post.service;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.domain.post.post.entity.Post;
+import com.rest1.domain.post.post.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 댓글이 많은 글 삭제 시간 비교, ./gradlew benchmarkTest
+// CascadeType.REMOVE 로 댓글을 하나씩 지우는 경우와 PostService.delete 의 집합 단위 delete
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:db_post_delete;MODE=MySQL",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.orm.jdbc.bind=INFO",
+        "logging.level.org.hibernate.orm.jdbc.extract=INFO"
+})
+@ActiveProfiles("test")
+public class PostDeleteBenchmarkTest {
+
+    private static final int COMMENTS = 10_000;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("댓글 1만 개인 글 삭제")
+    void t1() {
+        long cascadePostId = writePostWithComments();
+        long setBasedPostId = writePostWithComments();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        long startNanos = System.nanoTime();
+
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.remove(entityManager.find(Post.class, cascadePostId))
+        );
+
+        print("cascade", System.nanoTime() - startNanos, statistics);
+
+        statistics.clear();
+        startNanos = System.nanoTime();
+
+        transactionTemplate.executeWithoutResult(status ->
+                postService.delete(postRepository.getReferenceById(setBasedPostId))
+        );
+
+        print("set-based", System.nanoTime() - startNanos, statistics);
+
+        assertThat(postRepository.existsById(cascadePostId)).isFalse();
+        assertThat(postRepository.existsById(setBasedPostId)).isFalse();
+    }
+
+    private long writePostWithComments() {
+        return transactionTemplate.execute(status -> {
+            Member author = memberRepository.findByUsername("user1").get();
+            Post post = postService.write(author, "제목", "내용");
+            postService.writeComments(author, post.getId(), Collections.nCopies(COMMENTS, "댓글"));
+
+            return post.getId();
+        });
+    }
+
+    private void print(String name, long elapsedNanos, Statistics statistics) {
+        System.out.printf(
+                "delete %s comments=%d millis=%d statements=%d entityLoads=%d%n",
+                name,
+                COMMENTS,
+                elapsedNanos / 1_000_000,
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount()
+        );
+    }
+}
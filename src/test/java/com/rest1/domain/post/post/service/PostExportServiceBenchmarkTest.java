@@ -0,0 +1,122 @@
+package com.rest1.domain.post.post.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 대용량 내보내기의 처리량과 최대 힙 사용량 측정, ./gradlew benchmarkTest [-PbenchmarkPosts=1000000]
+// 글 수의 두 배만큼 댓글을 만든다. 메모리에 다 올라가지 않도록 파일 DB 를 쓴다.
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./build/benchmark/export;MODE=MySQL;LAZY_QUERY_EXECUTION=1",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.orm.jdbc.bind=INFO",
+        "logging.level.org.hibernate.orm.jdbc.extract=INFO"
+})
+@ActiveProfiles("test")
+public class PostExportServiceBenchmarkTest {
+
+    private static final long POSTS = Long.getLong("benchmark.posts", 1_000_000);
+    private static final long ID_OFFSET = 1_000;
+    private static final long CHUNK = 50_000;
+
+    @Autowired
+    private PostExportService postExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void deleteDatabase() throws Exception {
+        FileSystemUtils.deleteRecursively(Path.of("build/benchmark"));
+    }
+
+    @Test
+    @DisplayName("대용량 글, 댓글 내보내기 처리량, 최대 힙")
+    void t1() throws Exception {
+        // 내보내기는 별도 연결로 읽으므로 커밋해야 한다. 한 트랜잭션이 너무 커지지 않도록 나눠서 넣는다.
+        for (long from = 1; from <= POSTS; from += CHUNK) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(from + CHUNK - 1, POSTS);
+
+            transactionTemplate.executeWithoutResult(status -> insertPostsAndComments(chunkFrom, chunkTo));
+        }
+
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        CountingOutputStream out = new CountingOutputStream();
+        long startNanos = System.nanoTime();
+
+        long rows = postExportService.export(out);
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        System.out.printf(
+                "export rows=%d bytes=%d seconds=%.1f rows/sec=%.0f MB/sec=%.1f peakHeapMB=%d maxHeapMB=%d%n",
+                rows,
+                out.count,
+                seconds,
+                rows / seconds,
+                out.count / seconds / 1024 / 1024,
+                peakHeapBytes / 1024 / 1024,
+                Runtime.getRuntime().maxMemory() / 1024 / 1024
+        );
+
+        // 초기 데이터: 글 3개, 댓글 5개
+        assertThat(rows).isEqualTo(POSTS * 3 + 8);
+    }
+
+    // 글 from ~ to 와 글마다 댓글 2개
+    private void insertPostsAndComments(long from, long to) {
+        jdbcTemplate.update("""
+                insert into post (id, create_date, modify_date, title, content, comment_count, author_id)
+                select x + ?, now(), now(), concat('제목', x), concat('내용', x, ' 입니다.'), 2, 1
+                from system_range(?, ?)
+                """, ID_OFFSET, from, to);
+        jdbcTemplate.update("""
+                insert into comment (id, create_date, modify_date, content, author_id, post_id)
+                select x + ?, now(), now(), concat('댓글', x), 1, (x + 1) / 2 + ?
+                from system_range(?, ?)
+                """, ID_OFFSET, ID_OFFSET, from * 2 - 1, to * 2);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
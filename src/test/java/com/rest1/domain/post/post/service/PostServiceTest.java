@@ -0,0 +1,107 @@
+package com.rest1.domain.post.post.service;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.domain.post.comment.repository.CommentRepository;
+import com.rest1.domain.post.post.dto.PostVersionDto;
+import com.rest1.domain.post.post.entity.Post;
+import com.rest1.domain.post.post.repository.PostRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class PostServiceTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("댓글 수 다시 계산")
+    void t1() {
+        postRepository.increaseCommentCount(1L, 100, LocalDateTime.now());
+        postRepository.decreaseCommentCount(2L, 100, LocalDateTime.now());
+
+        // 값이 틀린 1, 2번 글만 고친다.
+        assertThat(postService.repairCommentStats()).isEqualTo(2);
+
+        assertThat(postRepository.findDtoById(1L).get().commentCount()).isEqualTo(3);
+        assertThat(postRepository.findDtoById(2L).get().commentCount()).isEqualTo(2);
+        assertThat(postRepository.findDtoById(3L).get().commentCount()).isEqualTo(0);
+        assertThat(postRepository.findDtoById(3L).get().lastCommentAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("글 삭제, 댓글이 많아도 댓글을 읽지 않고 집합 단위로 지운다")
+    void t2() {
+        Member author = memberRepository.findByUsername("user1").get();
+        Post post = postService.write(author, "제목", "내용");
+        postService.writeComments(author, post.getId(), Collections.nCopies(1000, "댓글"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        postService.delete(postRepository.getReferenceById(post.getId()));
+
+        // 댓글 delete 1번, 글 delete 1번
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(postRepository.findById(post.getId())).isEmpty();
+        assertThat(commentRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("댓글 삭제, 댓글 수를 줄이고 글 수정 시각은 그대로 둔 채 댓글 변경 시각을 올린다")
+    void t3() {
+        Member author = memberRepository.findByUsername("user1").get();
+        PostVersionDto before = postRepository.findVersionById(1L).get();
+
+        postService.deleteComment(author, 1L, 1L);
+
+        PostVersionDto after = postRepository.findVersionById(1L).get();
+        assertThat(after.commentCount()).isEqualTo(before.commentCount() - 1);
+        assertThat(after.modifyDate()).isEqualTo(before.modifyDate());
+        assertThat(after.commentsModifyDate()).isAfter(before.commentsModifyDate());
+    }
+
+    @Test
+    @DisplayName("댓글 삭제, 가장 최근 댓글이 지워지면 마지막 댓글 시각을 남은 댓글로 다시 계산한다")
+    void t4() {
+        Member author = memberRepository.findByUsername("user1").get();
+
+        postService.deleteComment(author, 1L, 3L);
+
+        assertThat(postRepository.findVersionById(1L).get().lastCommentAt())
+                .isEqualTo(commentRepository.findById(2L).get().getCreateDate());
+
+        postService.deleteComment(author, 1L, 2L);
+        postService.deleteComment(author, 1L, 1L);
+
+        assertThat(postRepository.findVersionById(1L).get().lastCommentAt()).isNull();
+    }
+}
@@ -0,0 +1,82 @@
+package com.rest1.global.actorCache;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.entity.MemberRole;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ActorCacheTest {
+
+    private final Member member = new Member(1L, LocalDateTime.now(), LocalDateTime.now(), "user1", "유저1", MemberRole.USER);
+
+    @Test
+    @DisplayName("같은 API 키는 한 번만 조회한다")
+    void t1() {
+        ActorCache actorCache = new ActorCache(true, 100, 60);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Member actor = actorCache.get("key1", key -> {
+                loadCount.incrementAndGet();
+                return Optional.of(member);
+            }).get();
+
+            assertThat(actor.getId()).isEqualTo(1L);
+            assertThat(actor.getName()).isEqualTo("유저1");
+        }
+
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(actorCache.stats().hitCount()).isEqualTo(2);
+        assertThat(actorCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 API 키는 캐시하지 않는다")
+    void t2() {
+        ActorCache actorCache = new ActorCache(true, 100, 60);
+
+        assertThat(actorCache.get("wrong", key -> Optional.empty())).isEmpty();
+        assertThat(actorCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("무효화 후에는 다시 조회한다")
+    void t3() {
+        ActorCache actorCache = new ActorCache(true, 100, 60);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        actorCache.get("key1", key -> {
+            loadCount.incrementAndGet();
+            return Optional.of(member);
+        });
+        actorCache.invalidate("key1");
+        actorCache.get("key1", key -> {
+            loadCount.incrementAndGet();
+            return Optional.of(member);
+        });
+
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("비활성화 시 항상 조회한다")
+    void t4() {
+        ActorCache actorCache = new ActorCache(false, 100, 60);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            actorCache.get("key1", key -> {
+                loadCount.incrementAndGet();
+                return Optional.of(member);
+            });
+        }
+
+        assertThat(loadCount.get()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,96 @@
+package com.rest1.global.apiKeyBloomFilter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ApiKeyBloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 키는 항상 있다고 판단한다")
+    void t1() {
+        ApiKeyBloomFilter apiKeyBloomFilter = new ApiKeyBloomFilter(true, 10_000, 0.01, 60);
+        apiKeyBloomFilter.markReady();
+
+        for (int i = 0; i < 10_000; i++) {
+            String apiKey = UUID.randomUUID().toString();
+            apiKeyBloomFilter.put(apiKey);
+
+            assertThat(apiKeyBloomFilter.mightContain(apiKey)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("넣지 않은 키는 대부분 없다고 판단한다")
+    void t2() {
+        ApiKeyBloomFilter apiKeyBloomFilter = new ApiKeyBloomFilter(true, 10_000, 0.01, 60);
+        apiKeyBloomFilter.markReady();
+
+        for (int i = 0; i < 10_000; i++) {
+            apiKeyBloomFilter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            if (apiKeyBloomFilter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(300);
+        assertThat(apiKeyBloomFilter.getRejectedCount()).isEqualTo(10_000 - falsePositives);
+    }
+
+    @Test
+    @DisplayName("초기 적재 전에는 모든 키를 통과시킨다")
+    void t3() {
+        ApiKeyBloomFilter apiKeyBloomFilter = new ApiKeyBloomFilter(true, 10_000, 0.01, 60);
+
+        assertThat(apiKeyBloomFilter.mightContain("wrong")).isTrue();
+
+        apiKeyBloomFilter.markReady();
+
+        assertThat(apiKeyBloomFilter.mightContain("wrong")).isFalse();
+    }
+
+    @Test
+    @DisplayName("재구성하면 새 목록에 없는 키는 빠지고, 재구성 중에 넣은 키는 남는다")
+    void t4() {
+        ApiKeyBloomFilter apiKeyBloomFilter = new ApiKeyBloomFilter(true, 10_000, 0.01, 60);
+        apiKeyBloomFilter.put("deleted");
+
+        apiKeyBloomFilter.rebuild(() -> {
+            apiKeyBloomFilter.put("issued");
+            return Stream.of("kept");
+        });
+
+        assertThat(apiKeyBloomFilter.isReady()).isTrue();
+        assertThat(apiKeyBloomFilter.mightContain("kept")).isTrue();
+        assertThat(apiKeyBloomFilter.mightContain("issued")).isTrue();
+        assertThat(apiKeyBloomFilter.mightContain("deleted")).isFalse();
+        assertThat(apiKeyBloomFilter.getRebuildCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("마지막 재구성 이후에 발급된 키는 필터에 없어도 거절하지 않고, 그 전에 발급된 키만 거절한다")
+    void t5() {
+        ApiKeyBloomFilter apiKeyBloomFilter = new ApiKeyBloomFilter(true, 10_000, 0.01, 60);
+        String oldApiKey = "%s-%x".formatted(UUID.randomUUID(), System.currentTimeMillis() - 120_000);
+
+        apiKeyBloomFilter.rebuild(() -> Stream.of("kept"));
+
+        // 다른 서버에서 방금 발급한 키
+        String issuedApiKey = ApiKeys.generate();
+
+        assertThat(apiKeyBloomFilter.mightContain(issuedApiKey)).isTrue();
+        assertThat(apiKeyBloomFilter.mightContain(oldApiKey)).isFalse();
+        assertThat(apiKeyBloomFilter.mightContain(UUID.randomUUID().toString())).isFalse();
+        assertThat(apiKeyBloomFilter.getUncertainCount()).isEqualTo(1);
+        assertThat(apiKeyBloomFilter.getRejectedCount()).isEqualTo(2);
+    }
+}
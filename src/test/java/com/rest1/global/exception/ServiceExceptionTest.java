@@ -0,0 +1,29 @@
+package com.rest1.global.exception;
+
+import com.rest1.global.rsData.RsData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServiceExceptionTest {
+
+    @Test
+    @DisplayName("스택을 남기지 않는다")
+    void t1() {
+        ServiceException e = new ServiceException("403-1", "권한이 없습니다.");
+
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(e.getMessage()).isEqualTo("403-1 : 권한이 없습니다.");
+        assertThat(e.getRsData().getStatusCode()).isEqualTo(403);
+    }
+
+    @Test
+    @DisplayName("고정된 응답 본문은 던질 때마다 같은 객체를 쓴다")
+    void t2() {
+        RsData<Void> rsData = new RsData<>("401-1", "헤더에 인증 정보가 없습니다.");
+
+        assertThat(new ServiceException(rsData).getRsData()).isSameAs(rsData);
+        assertThat(new NotFoundException().getRsData()).isSameAs(new NotFoundException().getRsData());
+    }
+}
@@ -0,0 +1,53 @@
+package com.rest1.global.initData;
+
+import com.rest1.domain.member.member.entity.MemberRole;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class BaseInitDataTest {
+
+    @Autowired
+    private BaseInitData baseInitData;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("역할 컬럼이 생기기 전의 DB 면 admin 계정을 관리자로 만든다")
+    void t1() {
+        // 역할 컬럼이 기본값으로 채워진 상태
+        jdbcTemplate.update("update member set role = 'USER'");
+
+        baseInitData.migrateAdminRole();
+
+        assertThat(memberRepository.findByUsername("admin").get().getRole()).isEqualTo(MemberRole.ADMIN);
+        assertThat(memberRepository.findByUsername("user1").get().getRole()).isEqualTo(MemberRole.USER);
+    }
+
+    @Test
+    @DisplayName("관리자가 이미 있으면 역할을 건드리지 않는다")
+    void t2() {
+        // 운영자가 admin 대신 user1 을 관리자로 바꾼 상태
+        jdbcTemplate.update("update member set role = 'USER' where username = 'admin'");
+        jdbcTemplate.update("update member set role = 'ADMIN' where username = 'user1'");
+
+        baseInitData.migrateAdminRole();
+
+        assertThat(memberRepository.findByUsername("admin").get().getRole()).isEqualTo(MemberRole.USER);
+        assertThat(memberRepository.findByUsername("user1").get().getRole()).isEqualTo(MemberRole.ADMIN);
+    }
+}
@@ -0,0 +1,103 @@
+package com.rest1.global.jpa;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.post.comment.entity.Comment;
+import com.rest1.domain.post.post.entity.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.tools.Server;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 댓글 대량 저장 시간 측정, ./gradlew benchmarkTest
+// 문장마다 왕복 비용이 드는 실제 DB 와 비슷하도록 H2 를 TCP 서버로 띄워서 접속한다.
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.orm.jdbc.bind=INFO",
+        "logging.level.org.hibernate.orm.jdbc.extract=INFO"
+})
+@ActiveProfiles("test")
+public class BatchInsertBenchmarkTest {
+
+    private static final int COMMENTS = 100_000;
+    private static final int CHUNK = 1_000;
+
+    private static Server server;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void startServer() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add(
+                "spring.datasource.url",
+                () -> "jdbc:h2:tcp://localhost:%d/mem:db_batch_insert;MODE=MySQL".formatted(server.getPort())
+        );
+    }
+
+    @Test
+    @DisplayName("댓글 10만 개 저장")
+    void t1() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long startNanos = System.nanoTime();
+
+        for (int i = 0; i < COMMENTS; i += CHUNK) {
+            int from = i;
+
+            transactionTemplate.executeWithoutResult(status -> {
+                Member author = entityManager.getReference(Member.class, 3L);
+                Post post = entityManager.getReference(Post.class, 1L);
+
+                for (int j = from; j < from + CHUNK; j++) {
+                    entityManager.persist(new Comment(author, "댓글 " + j, post));
+                }
+            });
+        }
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        System.out.printf(
+                "insert comments=%d seconds=%.2f rows/sec=%.0f statements=%d%n",
+                COMMENTS,
+                seconds,
+                COMMENTS / seconds,
+                statistics.getPrepareStatementCount()
+        );
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(COMMENTS);
+    }
+}
@@ -0,0 +1,57 @@
+package com.rest1.global.jpa;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 시퀀스 변경은 롤백되지 않으므로 별도의 DB 를 쓴다.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:db_id_sequence;MODE=MySQL")
+@ActiveProfiles("test")
+public class IdSequenceAlignerTest {
+
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("기존 데이터의 id 보다 시퀀스가 뒤에 있으면 max(id) + 1 로 맞춘다")
+    void t1() {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+                insert into post (id, create_date, modify_date, title, content, comment_count, author_id)
+                values (1000, now(), now(), '제목', '내용', 0, 1)
+                """));
+
+        idSequenceAligner.align();
+
+        assertThat(nextValue("post_seq")).isEqualTo(1001);
+    }
+
+    @Test
+    @DisplayName("시퀀스가 이미 앞서 있으면 그대로 둔다")
+    void t2() {
+        long before = nextValue("member_seq");
+
+        idSequenceAligner.align();
+
+        assertThat(nextValue("member_seq")).isEqualTo(before);
+    }
+
+    private long nextValue(String sequenceName) {
+        return jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where lower(sequence_name) = ?",
+                Long.class,
+                sequenceName
+        );
+    }
+}
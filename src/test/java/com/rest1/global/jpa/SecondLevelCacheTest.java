@@ -0,0 +1,232 @@
+package com.rest1.global.jpa;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import com.rest1.domain.post.post.entity.Post;
+import com.rest1.domain.post.post.repository.PostRepository;
+import com.rest1.domain.post.post.service.PostService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커밋된 데이터로 여러 스레드에서 검증해야 하므로 트랜잭션 롤백 대신 별도의 DB 를 쓴다.
+@SpringBootTest(properties = {
+        "custom.secondLevelCache.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:db_second_level_cache;MODE=MySQL"
+})
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long writePost(String title) {
+        return transactionTemplate.execute(status -> {
+            Member author = memberRepository.findByUsername("user1").get();
+            return postService.write(author, title, "내용").getId();
+        });
+    }
+
+    @Test
+    @DisplayName("회원은 두 번째 조회부터 DB 를 거치지 않는다")
+    void t1() {
+        long id = transactionTemplate.execute(status -> memberRepository.findByUsername("user2").get().getId());
+
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        String nickname = transactionTemplate.execute(status -> memberRepository.findById(id).get().getNickname());
+
+        assertThat(nickname).isEqualTo("유저2");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Member.class.getName()).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("글의 댓글 목록은 두 번째 조회부터 DB 를 거치지 않는다")
+    void t2() {
+        long postId = writePost("댓글 캐시");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Post post = postRepository.findById(postId).get();
+            Member author = memberRepository.findByUsername("user1").get();
+
+            for (int i = 0; i < 3; i++) {
+                postService.writeComment(author, post, "댓글 %d".formatted(i));
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> postRepository.findById(postId).get().getComments().size());
+
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        int size = transactionTemplate.execute(status -> postRepository.findById(postId).get().getComments().size());
+
+        assertThat(size).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getCollectionStatistics(Post.class.getName() + ".comments").getCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 수정하고 읽어도 마지막에는 DB 와 같은 값을 읽는다")
+    void t3() throws Exception {
+        long postId = writePost("동시 수정");
+        Member author = transactionTemplate.execute(status -> memberRepository.findByUsername("user1").get());
+        int writers = 8;
+        int iterations = 20;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        // 읽기만 하는 스레드가 수정 중에도 계속 캐시를 채우도록 한다.
+        CompletableFuture<Void> writersDone = new CompletableFuture<>();
+
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                for (int i = 0; i < iterations; i++) {
+                    String title = "수정 %d-%d".formatted(writer, i);
+
+                    // 충돌한 수정은 409 로 끝나므로 건너뛰고, 캐시가 DB 와 같은지만 본다.
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> postService.modify(author, postId, title, "내용", null));
+                    } catch (OptimisticLockingFailureException ignored) {
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        List<Future<?>> readers = new ArrayList<>();
+
+        for (int r = 0; r < 4; r++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+
+                while (!writersDone.isDone()) {
+                    transactionTemplate.execute(status -> postRepository.findById(postId).get().getTitle());
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        writersDone.complete(null);
+
+        for (Future<?> future : readers) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        String dbTitle = jdbcTemplate.queryForObject("select title from post where id = ?", String.class, postId);
+
+        // 동시에 잠긴 항목은 잠금이 풀릴 때까지 캐시를 거치지 않으므로, 적중 여부가 아니라 값만 확인한다.
+        for (int i = 0; i < 2; i++) {
+            String title = transactionTemplate.execute(status -> postRepository.findById(postId).get().getTitle());
+
+            assertThat(title).isEqualTo(dbTitle);
+        }
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 댓글을 쓰고 지워도 댓글 수와 댓글 목록이 DB 와 같다")
+    void t4() throws Exception {
+        long postId = writePost("동시 댓글");
+        int writers = 8;
+        int iterations = 10;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                for (int i = 0; i < iterations; i++) {
+                    String content = "댓글 %d-%d".formatted(writer, i);
+
+                    transactionTemplate.executeWithoutResult(status -> {
+                        Member author = memberRepository.findByUsername("user1").get();
+                        Post post = postRepository.findById(postId).get();
+                        post.getComments().size();
+                        postService.writeComment(author, post, content);
+                    });
+                }
+
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Member author = memberRepository.findByUsername("user1").get();
+            Post post = postRepository.findById(postId).get();
+            postService.deleteComment(author, postId, post.getComments().getFirst().getId());
+        });
+
+        long dbCount = jdbcTemplate.queryForObject("select count(*) from comment where post_id = ?", Long.class, postId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Post post = postRepository.findById(postId).get();
+
+            assertThat(dbCount).isEqualTo(writers * iterations - 1);
+            assertThat(post.getCommentCount()).isEqualTo(dbCount);
+            assertThat(post.getComments()).hasSize((int) dbCount);
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.rest1.global.loginThrottle;
+
+import com.rest1.global.exception.ServiceException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+public class LoginThrottleTest {
+
+    @Test
+    @DisplayName("아이디별 허용 횟수만큼 실패하면 거절한다")
+    void t1() {
+        LoginThrottle loginThrottle = new LoginThrottle(1024, 60, 5, 100);
+
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.check("user1", "127.0.0.1");
+            loginThrottle.onFailure("user1", "127.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.check("user1", "127.0.0.1"))
+                .isInstanceOf(ServiceException.class)
+                .extracting("resultCode")
+                .isEqualTo("429-1");
+        assertThat(loginThrottle.getRejectedCount()).isEqualTo(1);
+
+        assertThatNoException().isThrownBy(() -> loginThrottle.check("user2", "127.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("접속 주소별 허용 횟수만큼 실패하면 다른 아이디도 거절한다")
+    void t2() {
+        LoginThrottle loginThrottle = new LoginThrottle(1024, 60, 5, 10);
+
+        for (int i = 0; i < 10; i++) {
+            loginThrottle.onFailure("user" + i, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.check("newUser", "10.0.0.1"))
+                .isInstanceOf(ServiceException.class);
+
+        assertThatNoException().isThrownBy(() -> loginThrottle.check("newUser", "10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 다시 허용한다")
+    void t3() throws InterruptedException {
+        LoginThrottle loginThrottle = new LoginThrottle(1024, 1, 2, 100);
+
+        loginThrottle.onFailure("user1", "127.0.0.1");
+        loginThrottle.onFailure("user1", "127.0.0.1");
+
+        assertThatThrownBy(() -> loginThrottle.check("user1", "127.0.0.1"))
+                .isInstanceOf(ServiceException.class);
+
+        Thread.sleep(700);
+
+        assertThatNoException().isThrownBy(() -> loginThrottle.check("user1", "127.0.0.1"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.rest1.global.queryCount;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// QueryCapture 로 센 결과, 틀리면 실행된 쿼리 지문을 같이 보여준다.
+public class CapturedQueries {
+
+    private final QueryCounter counter;
+
+    CapturedQueries(QueryCounter counter) {
+        this.counter = counter;
+    }
+
+    public CapturedQueries selects(int expected) {
+        return exactly(QueryCounter.Type.SELECT, expected);
+    }
+
+    public CapturedQueries inserts(int expected) {
+        return exactly(QueryCounter.Type.INSERT, expected);
+    }
+
+    public CapturedQueries updates(int expected) {
+        return exactly(QueryCounter.Type.UPDATE, expected);
+    }
+
+    public CapturedQueries deletes(int expected) {
+        return exactly(QueryCounter.Type.DELETE, expected);
+    }
+
+    public CapturedQueries maxSelects(int max) {
+        return atMost(QueryCounter.Type.SELECT, max);
+    }
+
+    public CapturedQueries maxInserts(int max) {
+        return atMost(QueryCounter.Type.INSERT, max);
+    }
+
+    public CapturedQueries maxUpdates(int max) {
+        return atMost(QueryCounter.Type.UPDATE, max);
+    }
+
+    public CapturedQueries maxDeletes(int max) {
+        return atMost(QueryCounter.Type.DELETE, max);
+    }
+
+    public CapturedQueries total(int expected) {
+        assertThat(counter.getCount()).as(this::describe).isEqualTo(expected);
+        return this;
+    }
+
+    public CapturedQueries maxTotal(int max) {
+        assertThat(counter.getCount()).as(this::describe).isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    public int getCount() {
+        return counter.getCount();
+    }
+
+    public int getCount(QueryCounter.Type type) {
+        return counter.getCount(type);
+    }
+
+    private CapturedQueries exactly(QueryCounter.Type type, int expected) {
+        assertThat(counter.getCount(type)).as(() -> type + " 수\n" + describe()).isEqualTo(expected);
+        return this;
+    }
+
+    private CapturedQueries atMost(QueryCounter.Type type, int max) {
+        assertThat(counter.getCount(type)).as(() -> type + " 수\n" + describe()).isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    private String describe() {
+        return "실행된 쿼리 %d개\n%s".formatted(
+                counter.getCount(),
+                counter.topFingerprints(Integer.MAX_VALUE).stream()
+                        .map(entry -> "\t%d x %s".formatted(entry.getValue(), entry.getKey()))
+                        .collect(Collectors.joining("\n"))
+        );
+    }
+}
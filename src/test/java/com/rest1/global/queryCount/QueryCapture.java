@@ -0,0 +1,58 @@
+package com.rest1.global.queryCount;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// MockMvc 호출 하나 동안 실행한 SQL 을 JDBC 실행 단위로 센다.
+//
+// @RegisterExtension
+// private final QueryCapture queryCapture = new QueryCapture();
+//
+// queryCapture.capture(() -> mvc.perform(get("/api/v1/posts")).andExpect(status().isOk()))
+//         .selects(1)
+//         .maxTotal(1);
+//
+// @Transactional 테스트는 요청과 테스트가 한 영속성 컨텍스트를 쓰므로,
+// 실제 요청처럼 빈 영속성 컨텍스트에서 시작하고, 커밋 때 나갈 쓰기는 끝나기 전에 flush 해서 같이 센다.
+// JDBC 배치로 묶인 문장은 executeBatch 한 번(DB 왕복 한 번)을 한 번으로 센다.
+public class QueryCapture implements BeforeEachCallback {
+
+    private EntityManager entityManager;
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        entityManager = SpringExtension.getApplicationContext(context).getBean(EntityManager.class);
+    }
+
+    public CapturedQueries capture(Action action) throws Exception {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+
+        // 테스트에서 준비한 데이터는 세지 않는다.
+        if (inTransaction) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        QueryCounter counter = QueryCountDataSource.start();
+
+        try {
+            action.run();
+
+            if (inTransaction) {
+                entityManager.flush();
+            }
+        } finally {
+            QueryCountDataSource.stop(counter);
+        }
+
+        return new CapturedQueries(counter);
+    }
+}
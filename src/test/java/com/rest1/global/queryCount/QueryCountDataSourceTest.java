@@ -0,0 +1,77 @@
+package com.rest1.global.queryCount;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryCountDataSourceTest {
+
+    private final QueryCountDataSource dataSource = new QueryCountDataSource(target());
+
+    private static JdbcDataSource target() {
+        JdbcDataSource target = new JdbcDataSource();
+        target.setURL("jdbc:h2:mem:db_query_count_data_source;DB_CLOSE_DELAY=-1");
+
+        return target;
+    }
+
+    @Test
+    @DisplayName("준비한 문장이 아니라 실행 횟수를 세고, JDBC 배치는 executeBatch 한 번을 한 번으로 센다")
+    void t1() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table if not exists item (id int)");
+            }
+
+            QueryCounter counter = QueryCountDataSource.start();
+
+            try {
+                try (PreparedStatement statement = connection.prepareStatement("insert into item (id) values (?)")) {
+                    for (int i = 0; i < 120; i++) {
+                        statement.setInt(1, i);
+                        statement.addBatch();
+
+                        if ((i + 1) % 50 == 0) {
+                            statement.executeBatch();
+                        }
+                    }
+
+                    statement.executeBatch();
+                }
+
+                try (PreparedStatement statement = connection.prepareStatement("select count(*) from item where id = ?")) {
+                    statement.setInt(1, 1);
+                    statement.executeQuery().close();
+                    statement.setInt(1, 2);
+                    statement.executeQuery().close();
+                }
+            } finally {
+                QueryCountDataSource.stop(counter);
+            }
+
+            assertThat(counter.getCount(QueryCounter.Type.INSERT)).isEqualTo(3);
+            assertThat(counter.getCount(QueryCounter.Type.SELECT)).isEqualTo(2);
+            assertThat(counter.getCount()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    @DisplayName("세는 중이 아닐 때 실행한 SQL 은 세지 않는다")
+    void t2() throws Exception {
+        QueryCounter counter = QueryCountDataSource.start();
+        QueryCountDataSource.stop(counter);
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("select 1");
+        }
+
+        assertThat(counter.getCount()).isZero();
+    }
+}
@@ -0,0 +1,151 @@
+package com.rest1.global.queryCount;
+
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "custom.queryBudget.maxQueries=1",
+        "spring.datasource.url=jdbc:h2:mem:db_query_count;MODE=MySQL"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+public class QueryCountFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("요청마다 실행한 쿼리 수를 엔드포인트별로 남긴다")
+    void t1() throws Exception {
+        long before = queries("GET", "/api/v1/posts/{id}").count();
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(status().isOk());
+
+        DistributionSummary queries = queries("GET", "/api/v1/posts/{id}");
+        assertThat(queries.count()).isEqualTo(before + 1);
+        assertThat(queries.max()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쿼리 예산을 넘으면 따로 센다")
+    void t2() throws Exception {
+        double before = overBudget("PUT", "/api/v1/posts/{id}").count();
+        Member author = memberRepository.findByUsername("user1").get();
+
+        // 회원 조회, 글 조회, 수정
+        mvc
+                .perform(
+                        put("/api/v1/posts/1")
+                                .header("Authorization", "Bearer %s".formatted(author.getApiKey()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "제목 new",
+                                            "content": "내용 new"
+                                        }
+                                        """)
+                )
+                .andExpect(status().isOk());
+
+        assertThat(overBudget("PUT", "/api/v1/posts/{id}").count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    @DisplayName("요청 수를 resultCode 별로 센다")
+    void t3() throws Exception {
+        mvc
+                .perform(
+                        get("/api/v1/posts/%d".formatted(Integer.MAX_VALUE))
+                )
+                .andExpect(status().isNotFound());
+
+        assertThat(
+                meterRegistry.get("http.server.requests")
+                        .tag("uri", "/api/v1/posts/{id}")
+                        .tag("resultCode", "404-1")
+                        .timer()
+                        .count()
+        ).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("프로메테우스 형식으로 내보낸다")
+    void t4() throws Exception {
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(status().isOk());
+
+        mvc
+                .perform(
+                        get("/actuator/prometheus")
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_queries_bucket")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("resultCode=\"none\"")));
+    }
+
+    @Test
+    @DisplayName("비밀번호 해시, 로그인 제한, 인증 캐시, API 키 필터 지표도 내보낸다")
+    void t5() throws Exception {
+        mvc
+                .perform(
+                        get("/actuator/prometheus")
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("passwordHasher_hash_seconds")))
+                .andExpect(content().string(containsString("passwordHasher_queueWait_seconds")))
+                .andExpect(content().string(containsString("passwordHasher_rejected")))
+                .andExpect(content().string(containsString("loginThrottle_rejected")))
+                .andExpect(content().string(containsString("cache=\"actorCache\"")))
+                .andExpect(content().string(containsString("apiKeyBloomFilter_expectedFpp")));
+    }
+
+    private DistributionSummary queries(String method, String uri) {
+        return DistributionSummary.builder("http.server.requests.queries")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    private Counter overBudget(String method, String uri) {
+        return Counter.builder("http.server.requests.queries.overBudget")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.rest1.global.queryCount;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryCounterTest {
+
+    @Test
+    @DisplayName("주석, 값, IN 목록 길이가 달라도 같은 지문")
+    void t1() {
+        assertThat(QueryCounter.fingerprint("/* <criteria> */ select p1_0.id from post p1_0 where p1_0.id in (?, ?, ?) and p1_0.title = 'a''b'"))
+                .isEqualTo(QueryCounter.fingerprint("select p1_0.id\n    from post p1_0\n    where p1_0.id in (?,?) and p1_0.title = ?"))
+                .isEqualTo("select p1_0.id from post p1_0 where p1_0.id in (?+) and p1_0.title = ?");
+    }
+
+    @Test
+    @DisplayName("같은 지문끼리 합쳐서 많이 실행된 순서로")
+    void t2() {
+        QueryCounter counter = new QueryCounter(null);
+
+        counter.add("select * from member where id = ?");
+        for (int i = 0; i < 3; i++) {
+            counter.add("select * from comment where post_id = " + i);
+        }
+
+        assertThat(counter.getCount()).isEqualTo(4);
+        assertThat(counter.topFingerprints(1))
+                .containsExactly(Map.entry("select * from comment where post_id = ?", 3));
+    }
+
+    @Test
+    @DisplayName("주석을 건너뛰고 문장 종류를 센다, 바깥 카운터에도 더한다")
+    void t3() {
+        QueryCounter outer = new QueryCounter(null);
+        QueryCounter counter = new QueryCounter(outer);
+
+        counter.add("/* <criteria> */ select p1_0.id from post p1_0");
+        counter.add("/* insert for\n    com.rest1.domain.post.post.entity.Post */insert into post (id) values (?)");
+        counter.add("update post set title=? where id=?");
+        counter.add("delete from comment where post_id in (?)");
+        counter.add("alter sequence post_seq restart with 1");
+
+        assertThat(counter.getCount(QueryCounter.Type.SELECT)).isEqualTo(1);
+        assertThat(counter.getCount(QueryCounter.Type.INSERT)).isEqualTo(1);
+        assertThat(counter.getCount(QueryCounter.Type.UPDATE)).isEqualTo(1);
+        assertThat(counter.getCount(QueryCounter.Type.DELETE)).isEqualTo(1);
+        assertThat(counter.getCount(QueryCounter.Type.OTHER)).isEqualTo(1);
+        assertThat(outer.getCount()).isEqualTo(5);
+    }
+}
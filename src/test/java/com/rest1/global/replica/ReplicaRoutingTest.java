@@ -0,0 +1,164 @@
+package com.rest1.global.replica;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rest1.domain.member.member.entity.Member;
+import com.rest1.domain.member.member.repository.MemberRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 주 DB 와 복제본 두 개를 각각 다른 H2 메모리 DB 로 띄운다.
+// 복제는 테스트마다 주 DB 를 통째로 복사해서 흉내 내고, 이후 어느 DB 에서 읽었는지는 DB 마다 다르게 바꾼 제목으로 구분한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:db_replica_primary;MODE=MySQL",
+        "custom.replica.enabled=true",
+        "custom.replica.urls=" + ReplicaRoutingTest.REPLICA1_URL + "," + ReplicaRoutingTest.REPLICA2_URL
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+
+    static final String REPLICA1_URL = "jdbc:h2:mem:db_replica_1;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA2_URL = "jdbc:h2:mem:db_replica_2;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path script = Files.createTempFile("replica", ".sql");
+
+        try {
+            try (Connection connection = primaryDataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                // 주 DB 는 테스트마다 롤백되지 않으므로 앞 테스트에서 바꾼 글을 되돌린다.
+                statement.execute("update post set title = '제목1' where id = 1");
+                connection.commit();
+                statement.execute("script to '%s'".formatted(script));
+            }
+
+            for (String url : new String[]{REPLICA1_URL, REPLICA2_URL}) {
+                execute(url, "drop all objects", "runscript from '%s'".formatted(script));
+            }
+        } finally {
+            Files.delete(script);
+        }
+    }
+
+    @Test
+    @DisplayName("읽기 전용 요청은 복제본들에 나눠서 보낸다")
+    void t1() throws Exception {
+        execute(REPLICA1_URL, "update post set title = '복제본1' where id = 1");
+        execute(REPLICA2_URL, "update post set title = '복제본2' where id = 1");
+
+        Set<String> titles = new HashSet<>();
+
+        for (int i = 0; i < 4; i++) {
+            titles.add(getTitle(null));
+        }
+
+        assertThat(titles).containsExactlyInAnyOrder("복제본1", "복제본2");
+    }
+
+    @Test
+    @DisplayName("쓰기 요청은 주 DB 로 보낸다")
+    void t2() throws Exception {
+        modify("제목 new");
+
+        try (Connection connection = primaryDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            var resultSet = statement.executeQuery("select title from post where id = 1");
+            resultSet.next();
+
+            assertThat(resultSet.getString(1)).isEqualTo("제목 new");
+        }
+
+        // 복제가 아직 안 된 상태
+        assertThat(getTitle(null)).isEqualTo("제목1");
+    }
+
+    @Test
+    @DisplayName("쓰기 직후에는 같은 회원의 조회만 주 DB 에서 읽는다")
+    void t3() throws Exception {
+        String authorization = modify("제목 new");
+
+        assertThat(getTitle(authorization)).isEqualTo("제목 new");
+        assertThat(getTitle(null)).isEqualTo("제목1");
+    }
+
+    private String modify(String title) throws Exception {
+        Member author = memberRepository.findByUsername("user1").get();
+        String authorization = "Bearer %s".formatted(author.getApiKey());
+
+        mvc
+                .perform(
+                        put("/api/v1/posts/1")
+                                .header("Authorization", authorization)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {
+                                            "title": "%s",
+                                            "content": "내용 new"
+                                        }
+                                        """.formatted(title))
+                )
+                .andExpect(status().isOk());
+
+        return authorization;
+    }
+
+    private String getTitle(String authorization) throws Exception {
+        var request = get("/api/v1/posts/1");
+
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+
+        String body = mvc
+                .perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return JsonPath.read(body, "$.title");
+    }
+
+    private void execute(String url, String... sqls) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.rest1.global.responseCache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rest1.global.etag.ETag;
+import com.rest1.global.replica.ReadYourWritesInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResponseCacheTest {
+
+    private final ResponseCache responseCache = new ResponseCache(new ObjectMapper(), true, 1024 * 1024, 100);
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private ResponseCache.Entry get(long scopeId, String path, String value) {
+        return responseCache.get(
+                scopeId,
+                path,
+                () -> {
+                    loadCount.incrementAndGet();
+                    return value;
+                },
+                body -> new ETag().add(body)
+        );
+    }
+
+    @Test
+    @DisplayName("직렬화한 바이트를 한 번만 만든다")
+    void t1() {
+        ResponseCache.Entry entry = get(1, "post", "내용1");
+        ResponseCache.Entry cached = get(1, "post", "내용1");
+
+        assertThat(new String(cached.body(), StandardCharsets.UTF_8)).isEqualTo("\"내용1\"");
+        assertThat(cached).isSameAs(entry);
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(responseCache.getIfPresent(1, "post")).isSameAs(entry);
+        assertThat(responseCache.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("무효화하면 해당 글의 응답만 다시 만든다")
+    void t2() {
+        get(1, "post", "내용1");
+        get(1, "comments", "댓글1");
+        get(2, "post", "내용2");
+
+        responseCache.invalidate(1);
+
+        assertThat(responseCache.getIfPresent(1, "post")).isNull();
+        assertThat(responseCache.getIfPresent(1, "comments")).isNull();
+        assertThat(responseCache.getIfPresent(2, "post")).isNotNull();
+
+        ResponseCache.Entry entry = get(1, "post", "내용1 수정");
+
+        assertThat(new String(entry.body(), StandardCharsets.UTF_8)).isEqualTo("\"내용1 수정\"");
+    }
+
+    @Test
+    @DisplayName("조회 중에 무효화되면 조회한 내용은 이후 요청에 보이지 않는다")
+    void t3() {
+        responseCache.get(
+                1,
+                "post",
+                () -> {
+                    // 예전 내용을 읽은 직후 다른 요청이 수정하고 무효화한 경우
+                    responseCache.invalidate(1);
+                    return "예전 내용";
+                },
+                body -> new ETag().add(body)
+        );
+
+        assertThat(responseCache.getIfPresent(1, "post")).isNull();
+    }
+
+    @Test
+    @DisplayName("조회 중 예외는 그대로 전파되고 캐시되지 않는다")
+    void t4() {
+        assertThatThrownBy(() -> responseCache.get(
+                1,
+                "post",
+                () -> {
+                    throw new NoSuchElementException();
+                },
+                body -> new ETag()
+        )).isInstanceOf(NoSuchElementException.class);
+
+        assertThat(responseCache.getIfPresent(1, "post")).isNull();
+    }
+
+    @Test
+    @DisplayName("비활성화 시 항상 새로 만든다")
+    void t5() {
+        ResponseCache disabled = new ResponseCache(new ObjectMapper(), false, 1024 * 1024, 100);
+
+        for (int i = 0; i < 3; i++) {
+            disabled.get(1, "post", () -> loadCount.incrementAndGet(), body -> new ETag());
+        }
+
+        assertThat(loadCount.get()).isEqualTo(3);
+        assertThat(disabled.getIfPresent(1, "post")).isNull();
+    }
+
+    @Test
+    @DisplayName("캐시에 없으면 그 요청은 주 DB 에서 읽도록 고정한다")
+    void t6() {
+        get(1, "post", "내용1");
+
+        try {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            responseCache.getIfPresent(1, "post");
+
+            assertThat(ReadYourWritesInterceptor.isPinnedToPrimary()).isFalse();
+
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            responseCache.getIfPresent(2, "post");
+
+            assertThat(ReadYourWritesInterceptor.isPinnedToPrimary()).isTrue();
+
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            get(3, "post", "내용3");
+
+            assertThat(ReadYourWritesInterceptor.isPinnedToPrimary()).isTrue();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.rest1.global.rsData;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RsDataTest {
+
+    @Test
+    @DisplayName("resultCode 앞의 세 자리가 상태 코드")
+    void t1() {
+        assertThat(new RsData<Void>("201-1", "생성").getStatusCode()).isEqualTo(201);
+        assertThat(new RsData<Void>("409-12", "충돌").getStatusCode()).isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 resultCode 는 만들 때 거절한다")
+    void t2() {
+        for (String resultCode : new String[]{null, "", "200", "200-", "20-1", "2001", "abc-1", "099-1", "600-1"}) {
+            assertThatThrownBy(() -> new RsData<Void>(resultCode, "메시지"))
+                    .as(resultCode)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
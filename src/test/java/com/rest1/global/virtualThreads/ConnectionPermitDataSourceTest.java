@@ -0,0 +1,75 @@
+package com.rest1.global.virtualThreads;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConnectionPermitDataSourceTest {
+
+    private final ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target(), 2, 100);
+
+    private static JdbcDataSource target() {
+        JdbcDataSource target = new JdbcDataSource();
+        target.setURL("jdbc:h2:mem:db_connection_permit");
+
+        return target;
+    }
+
+    @Test
+    @DisplayName("허가를 다 쓰면 제한 시간만큼 기다린 뒤 실패한다")
+    void t1() throws Exception {
+        try (Connection connection1 = dataSource.getConnection();
+             Connection connection2 = dataSource.getConnection()) {
+
+            assertThat(dataSource.getAvailablePermits()).isZero();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        assertThat(dataSource.getWaitCount()).isEqualTo(1);
+        assertThat(dataSource.getTimeoutCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("기다리던 스레드는 다른 연결이 닫히면 연결을 얻는다")
+    void t2() throws Exception {
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(target(), 1, 5000);
+        Connection connection = dataSource.getConnection();
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try (Connection waited = dataSource.getConnection()) {
+                return waited.isValid(1);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        while (dataSource.getQueueLength() == 0) {
+            Thread.onSpinWait();
+        }
+
+        connection.close();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 연결을 여러 번 닫아도 허가는 한 번만 돌려준다")
+    void t3() throws Exception {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+}
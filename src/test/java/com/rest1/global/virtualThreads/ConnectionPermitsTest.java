@@ -0,0 +1,68 @@
+package com.rest1.global.virtualThreads;
+
+import com.rest1.global.replica.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionPermitsTest {
+
+    private static HikariDataSource pool(String name, int maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1".formatted(name));
+        pool.setMaximumPoolSize(maximumPoolSize);
+
+        return pool;
+    }
+
+    @Test
+    @DisplayName("허가 수를 정하지 않으면 풀마다 그 풀의 크기만큼 허가를 둔다")
+    void t1() {
+        ConnectionPermits connectionPermits = new ConnectionPermits(0, 100);
+
+        try (HikariDataSource small = pool("db_permits_small", 2);
+             HikariDataSource large = pool("db_permits_large", 5)) {
+            assertThat(connectionPermits.wrap(small).getMaxPermits()).isEqualTo(2);
+            assertThat(connectionPermits.wrap(large).getMaxPermits()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    @DisplayName("복제본 읽기는 복제본 허가만 쓰고, 주 DB 허가는 그대로 남는다")
+    void t2() throws Exception {
+        ConnectionPermits connectionPermits = new ConnectionPermits(0, 100);
+        HikariDataSource primary = pool("db_permits_primary", 2);
+
+        try (ReplicaDataSource replicaDataSource = new ReplicaDataSource(
+                primary,
+                List.of(pool("db_permits_replica", 2)),
+                ReplicaDataSource.Strategy.ROUND_ROBIN,
+                connectionPermits::wrap
+        )) {
+            ConnectionPermitDataSource primaryPermits = (ConnectionPermitDataSource) replicaDataSource.getPrimary();
+
+            try (Connection connection1 = replicaDataSource.getConnection();
+                 Connection connection2 = replicaDataSource.getConnection()) {
+                // 복제본 허가를 다 써도 주 DB 연결은 바로 나온다.
+                assertThat(primaryPermits.getAvailablePermits()).isEqualTo(2);
+
+                try (Connection connection = primaryPermits.getConnection()) {
+                    assertThat(primaryPermits.getAvailablePermits()).isEqualTo(1);
+                }
+
+                // 복제본 허가가 없으면 주 DB 로 넘어가서 읽는다.
+                try (Connection connection3 = replicaDataSource.getConnection()) {
+                    assertThat(primaryPermits.getAvailablePermits()).isEqualTo(1);
+                    assertThat(replicaDataSource.getFallbackCount()).isEqualTo(1);
+                }
+            }
+        } finally {
+            primary.close();
+        }
+    }
+}
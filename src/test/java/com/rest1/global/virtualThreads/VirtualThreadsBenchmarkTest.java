@@ -0,0 +1,206 @@
+package com.rest1.global.virtualThreads;
+
+import com.rest1.Rest1Application;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 플랫폼 스레드 풀(Tomcat 기본 200개)과 가상 스레드 모드에서 같은 부하를 걸어 비교, ./gradlew benchmarkTest
+// H2 메모리 DB 는 너무 빨라서 연결을 얻은 뒤 일정 시간 붙잡게 해서 느린 쿼리를 흉내 낸다.
+// -PbenchmarkClients, -PbenchmarkDbLatencyMillis, -PbenchmarkPoolSize, -PbenchmarkSeconds 로 조절한다.
+@Tag("benchmark")
+public class VirtualThreadsBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 400);
+    private static final int DB_LATENCY_MILLIS = Integer.getInteger("benchmark.dbLatencyMillis", 50);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.poolSize", 10);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+
+    @Test
+    @DisplayName("플랫폼 스레드와 가상 스레드 모드의 처리량, 지연 시간")
+    void t1() throws Exception {
+        run(false);
+        run(true);
+    }
+
+    private void run(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtual)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:%d/api/v1/posts/1".formatted(port));
+
+            // 예열
+            load(uri, 50, 2);
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+
+            Result result = load(uri, CLIENTS, SECONDS);
+
+            String pinned = virtual
+                    ? String.valueOf(context.getBean(VirtualThreadPinningMonitor.class).getPinnedCount())
+                    : "-";
+            String permitWaits = virtual
+                    ? String.valueOf(context.getBean("dataSource", DataSource.class).unwrap(ConnectionPermitDataSource.class).getWaitCount())
+                    : "-";
+
+            System.out.printf(
+                    "threads mode=%s clients=%d dbLatencyMillis=%d poolSize=%d requests=%d errors=%d rps=%d p50Millis=%.1f p99Millis=%.1f maxMillis=%.1f peakPlatformThreads=%d pinned=%s permitWaits=%s%n",
+                    virtual ? "virtual" : "platform",
+                    CLIENTS,
+                    DB_LATENCY_MILLIS,
+                    POOL_SIZE,
+                    result.latencies().length,
+                    result.errors(),
+                    result.latencies().length / SECONDS,
+                    result.percentileMillis(50),
+                    result.percentileMillis(99),
+                    result.percentileMillis(100),
+                    threads.getPeakThreadCount(),
+                    pinned,
+                    permitWaits
+            );
+
+            assertThat(result.errors()).isZero();
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        // properties() 로 넣으면 기본값이라 application.yml 에 밀리므로 실행 인자로 넘긴다.
+        return new SpringApplicationBuilder(Rest1Application.class)
+                .profiles("test")
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    // 직접 등록한 후처리기가 먼저 돌므로 연결 수 제한보다 안쪽(커넥션 풀 바로 앞)에 들어간다.
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                            return new SlowDataSource(dataSource);
+                        }
+
+                        return bean;
+                    }
+                }))
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:db_threads_%s;MODE=MySQL".formatted(virtual ? "virtual" : "platform"),
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--custom.virtualThreads.enabled=" + virtual,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=INFO",
+                        "--logging.level.org.hibernate.orm.jdbc.extract=INFO",
+                        "--logging.level.org.springframework.transaction.interceptor=INFO"
+                );
+    }
+
+    private Result load(URI uri, int clients, int seconds) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        LongAdder errors = new LongAdder();
+        long endNanos = System.nanoTime() + seconds * 1_000_000_000L;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+
+            List<Future<long[]>> futures = new ArrayList<>();
+
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+
+                    while (System.nanoTime() < endNanos) {
+                        long startNanos = System.nanoTime();
+
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                            continue;
+                        }
+
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+
+                        latencies[count++] = System.nanoTime() - startNanos;
+                    }
+
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            long[] all = new long[0];
+
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+
+            Arrays.sort(all);
+
+            return new Result(all, errors.sum());
+        }
+    }
+
+    private record Result(long[] latencies, long errors) {
+        double percentileMillis(int percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+
+            int index = Math.min(latencies.length - 1, (int) Math.ceil(latencies.length * percentile / 100.0) - 1);
+
+            return latencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    // 연결을 얻은 뒤 잠시 붙잡아서 느린 쿼리를 흉내 낸다.
+    private static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+
+            try {
+                Thread.sleep(DB_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return connection;
+        }
+    }
+}
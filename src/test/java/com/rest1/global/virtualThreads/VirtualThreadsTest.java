@@ -0,0 +1,93 @@
+package com.rest1.global.virtualThreads;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "custom.virtualThreads.enabled=true",
+        "custom.virtualThreads.connectionPermits=4",
+        "spring.datasource.url=jdbc:h2:mem:db_virtual_threads;MODE=MySQL"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+public class VirtualThreadsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private VirtualThreadPinningMonitor virtualThreadPinningMonitor;
+
+    @Test
+    @DisplayName("비동기 작업은 가상 스레드에서 실행된다")
+    void t1() throws Exception {
+        boolean virtual = applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+
+        assertThat(virtual).isTrue();
+    }
+
+    @Test
+    @DisplayName("DB 연결은 허가 수만큼만 내주고, 요청이 끝나면 모두 돌려받는다")
+    void t2() throws Exception {
+        // 쿼리 수를 세는 QueryCountDataSource 안쪽, 풀 바로 앞에 있다.
+        assertThat(dataSource.isWrapperFor(ConnectionPermitDataSource.class)).isTrue();
+
+        ConnectionPermitDataSource permitDataSource = dataSource.unwrap(ConnectionPermitDataSource.class);
+        assertThat(permitDataSource.getMaxPermits()).isEqualTo(4);
+
+        mvc
+                .perform(
+                        get("/api/v1/posts/1")
+                )
+                .andExpect(status().isOk());
+
+        assertThat(permitDataSource.getAvailablePermits()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("synchronized 블록 안에서 블로킹되어 캐리어 스레드에 고정되면 기록한다")
+    void t3() throws Exception {
+        Object lock = new Object();
+        long before = virtualThreadPinningMonitor.getPinnedCount();
+
+        Thread.ofVirtual()
+                .start(() -> {
+                    synchronized (lock) {
+                        try {
+                            Thread.sleep(50);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                })
+                .join();
+
+        // JFR 스트림은 주기적으로 비워지므로 잠시 기다린다.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (virtualThreadPinningMonitor.getPinnedCount() == before && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertThat(virtualThreadPinningMonitor.getPinnedCount()).isGreaterThan(before);
+    }
+}